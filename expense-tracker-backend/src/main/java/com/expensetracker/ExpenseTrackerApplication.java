@@ -2,12 +2,14 @@ package com.expensetracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Expense Tracker Backend
  * This initializes the Spring Boot application with all necessary configurations
  */
 @SpringBootApplication
+@EnableScheduling
 public class ExpenseTrackerApplication {
     
     public static void main(String[] args) {
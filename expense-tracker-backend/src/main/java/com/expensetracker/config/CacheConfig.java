@@ -0,0 +1,36 @@
+package com.expensetracker.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process cache configuration
+ * Caches are bounded Caffeine caches; puts and evictions are deferred until the surrounding
+ * database transaction commits so readers never re-cache data that is about to change
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_BY_ID = "categoryById";
+    public static final String CATEGORY_BY_NAME = "categoryByName";
+    
+    @Value("${app.cache.category-spec:maximumSize=500,expireAfterWrite=10m,recordStats}")
+    private String categorySpec;
+    
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(
+            CATEGORIES, CATEGORY_BY_ID, CATEGORY_BY_NAME);
+        caffeineCacheManager.setCaffeineSpec(CaffeineSpec.parse(categorySpec));
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
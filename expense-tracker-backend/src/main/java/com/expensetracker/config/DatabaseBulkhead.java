@@ -0,0 +1,116 @@
+package com.expensetracker.config;
+
+import com.expensetracker.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds how many service calls may use the database at once
+ * 
+ * Permits default to the Hikari pool size so callers queue here (cheaply, and fairly)
+ * instead of parking inside the pool. This matters most with virtual threads, where
+ * request concurrency is no longer capped by the Tomcat thread pool.
+ * The permit is taken at the outermost service call, before the transaction opens,
+ * and nested service calls on the same thread reuse it.
+ * 
+ * Methods marked @LongRunningQuery (streamed exports) hold their connection while the client
+ * downloads, so they take a permit from a separate, smaller limit instead. Ordinary calls may
+ * then wait in the pool for up to that many connections.
+ * 
+ * Only calls into @Service beans from outside are limited. @Component beans (budget status
+ * cache, live update stream, recurring scheduler) and work a service runs on its own threads
+ * (alert evaluation) use pool connections without a permit.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.db-bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkhead {
+    
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    
+    private final Semaphore permits;
+    private final Semaphore longRunningPermits;
+    private final long acquireTimeoutMs;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    
+    public DatabaseBulkhead(
+            MeterRegistry registry,
+            @Value("${app.db-bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${app.db-bulkhead.max-concurrent-long-running:2}") int maxLongRunning,
+            @Value("${app.db-bulkhead.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.longRunningPermits = new Semaphore(maxLongRunning, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.waitTimer = Timer.builder("db.bulkhead.wait")
+            .description("Time spent waiting for a database slot")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+        this.rejected = Counter.builder("db.bulkhead.rejected")
+            .description("Calls rejected after waiting longer than the acquire timeout")
+            .register(registry);
+        Gauge.builder("db.bulkhead.queue.depth", permits, Semaphore::getQueueLength)
+            .description("Callers waiting for a database slot")
+            .register(registry);
+        Gauge.builder("db.bulkhead.available", permits, Semaphore::availablePermits)
+            .description("Free database slots")
+            .register(registry);
+        Gauge.builder("db.bulkhead.long.running.available", longRunningPermits, Semaphore::availablePermits)
+            .description("Free slots for long-running streamed queries")
+            .register(registry);
+        log.info("Database bulkhead enabled: {} concurrent calls, {} long-running, {}ms acquire timeout",
+            maxConcurrent, maxLongRunning, acquireTimeoutMs);
+    }
+    
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] depth = DEPTH.get();
+        if (depth[0] > 0) {
+            return enter(joinPoint, depth);
+        }
+        
+        Semaphore limit = ((MethodSignature) joinPoint.getSignature()).getMethod()
+            .isAnnotationPresent(LongRunningQuery.class) ? longRunningPermits : permits;
+        long start = System.nanoTime();
+        boolean acquired = limit.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException("Database is busy, please retry shortly");
+        }
+        
+        try {
+            return enter(joinPoint, depth);
+        } finally {
+            limit.release();
+        }
+    }
+    
+    private Object enter(ProceedingJoinPoint joinPoint, int[] depth) throws Throwable {
+        depth[0]++;
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (--depth[0] == 0) {
+                DEPTH.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON serialization settings
+ * Blackbird replaces reflective getter and record accessor calls with generated lambdas, which
+ * Spring Boot picks up as a module of the shared ObjectMapper. Disable with app.json.blackbird=false.
+ */
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "app.json.blackbird", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that holds its database connection for as long as a client keeps reading
+ * (streamed exports). The database bulkhead gives these calls their own, smaller limit so a few slow
+ * downloads cannot take every permit from ordinary requests.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LongRunningQuery {
+}
@@ -0,0 +1,83 @@
+package com.expensetracker.config;
+
+import com.expensetracker.event.BudgetChangedEvent;
+import com.expensetracker.event.CategoryChangedEvent;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Pins requests to the primary for a short window after their user's data changed
+ * Without this a client could read its own write back from a lagging replica, and an ETag
+ * computed from the new data version would then be served with the stale body
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    
+    private final Duration window;
+    private final Cache<Long, Boolean> recentWriters;
+    private volatile long lastSharedWriteNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+    
+    public ReadYourWritesInterceptor(Duration window) {
+        this.window = window;
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .build();
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (System.nanoTime() - lastSharedWriteNanos < window.toNanos() || isRecentWriter(request)) {
+            ReplicaRoutingDataSource.usePrimary();
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.clear();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Categories are shared, so every user's reads go to the primary
+        lastSharedWriteNanos = System.nanoTime();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private boolean isRecentWriter(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+            HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("userId") == null) {
+            return false;
+        }
+        try {
+            return recentWriters.getIfPresent(Long.valueOf(variables.get("userId"))) != null;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
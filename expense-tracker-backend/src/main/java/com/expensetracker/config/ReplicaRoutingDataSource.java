@@ -0,0 +1,84 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything else to the primary
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is fetched after the
+ * transaction's read-only flag is known
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+    
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = routes(meterRegistry, Target.PRIMARY);
+        this.replicaRoutes = routes(meterRegistry, Target.REPLICA);
+    }
+    
+    /**
+     * Send every connection of the current thread to the primary until cleared
+     */
+    static void usePrimary() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+    
+    /**
+     * Return to routing by the transaction's read-only flag
+     */
+    static void clear() {
+        PRIMARY_ONLY.remove();
+    }
+    
+    /**
+     * Run work with every connection of the current thread sent to the primary
+     * For background readers whose results are kept or compared against writes, which replica
+     * lag would make stale. Nests inside an enclosing usePrimary, which it leaves in place.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PRIMARY_ONLY.get() != null) {
+            return work.get();
+        }
+        usePrimary();
+        try {
+            return work.get();
+        } finally {
+            clear();
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_ONLY.get() == null) {
+            replicaRoutes.increment();
+            return Target.REPLICA;
+        }
+        primaryRoutes.increment();
+        return Target.PRIMARY;
+    }
+    
+    private static Counter routes(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("db.routing.connections")
+            .description("Connections handed out by the read/write routing datasource")
+            .tag("target", target.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry);
+    }
+}
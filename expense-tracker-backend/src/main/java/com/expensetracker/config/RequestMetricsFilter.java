@@ -0,0 +1,79 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records SQL statements per request and logs requests slower than a configurable threshold
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.monitoring.slow-request-threshold-ms:500}")
+    private long slowRequestThresholdMs;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        
+        SqlStatementCounter.reset();
+        long start = System.nanoTime();
+        
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            int statements = SqlStatementCounter.current();
+            SqlStatementCounter.clear();
+            
+            String uri = endpoint(request);
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(statements);
+            
+            if (durationMs >= slowRequestThresholdMs) {
+                log.warn("Slow request: {} {} userId={} duration={}ms statements={} status={}",
+                    request.getMethod(), uri, userId(request), durationMs, statements, response.getStatus());
+            }
+        }
+    }
+    
+    /**
+     * Matched route template (e.g. /users/{userId}/transactions) to keep metric cardinality bounded
+     */
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+    
+    @SuppressWarnings("unchecked")
+    private String userId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map) {
+            Object userId = ((Map<String, String>) map).get("userId");
+            return userId != null ? userId.toString() : "-";
+        }
+        return "-";
+    }
+}
@@ -0,0 +1,47 @@
+package com.expensetracker.config;
+
+import com.expensetracker.entity.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Aligns id sequences with existing data on startup
+ * Databases created while transactions used IDENTITY ids would otherwise hand out colliding ids
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class SequenceInitializer {
+    
+    private static final String TRANSACTION_SEQUENCE = "transactions_seq";
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @PostConstruct
+    public void alignTransactionSequence() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect();
+        
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        
+        Long nextValue = jdbcTemplate.queryForObject(
+            dialect.getSequenceSupport().getSequenceNextValString(TRANSACTION_SEQUENCE), Long.class);
+        
+        if (nextValue != null && nextValue <= maxId) {
+            // Leave a full allocation block of headroom above the highest existing id
+            long restartWith = maxId + 2L * Transaction.ID_ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + TRANSACTION_SEQUENCE + " RESTART WITH " + restartWith);
+            log.info("Restarted {} at {} to stay above existing transaction ids", TRANSACTION_SEQUENCE, restartWith);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.expensetracker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts SQL statements issued on the current thread
+ * The request metrics filter resets and reads the count around each HTTP request
+ */
+public class SqlStatementCounter implements StatementInspector {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+    
+    /**
+     * Reset the counter for the current thread
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+    
+    /**
+     * Number of statements issued on the current thread since the last reset
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+    
+    /**
+     * Release the counter for the current thread
+     */
+    public static void clear() {
+        COUNT.remove();
+    }
+}
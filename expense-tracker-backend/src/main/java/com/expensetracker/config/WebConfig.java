@@ -2,6 +2,7 @@ package com.expensetracker.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -29,6 +30,7 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedOrigins(allowedOrigins)
             .allowedMethods(allowedMethods)
             .allowedHeaders(allowedHeaders)
+            .exposedHeaders(HttpHeaders.ETAG)
             .allowCredentials(allowCredentials);
     }
 }
\ No newline at end of file
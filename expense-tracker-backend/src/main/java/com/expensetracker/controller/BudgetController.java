@@ -1,13 +1,19 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.BudgetAlertItem;
+import com.expensetracker.dto.BudgetBatchRequest;
+import com.expensetracker.dto.BudgetCopyRequest;
 import com.expensetracker.dto.BudgetDTO;
 import com.expensetracker.entity.Budget;
 import com.expensetracker.service.BudgetService;
+import com.expensetracker.service.BudgetStatus;
+import com.expensetracker.service.DataVersionTracker;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -22,6 +28,8 @@ import java.util.Map;
 public class BudgetController {
     
     private final BudgetService budgetService;
+    private final DataVersionTracker dataVersionTracker;
+    private final ConditionalRequests conditionalRequests;
     
     /**
      * Get all budgets for a user
@@ -46,28 +54,35 @@ public class BudgetController {
     
     /**
      * Get monthly budgets with spending status
+     * Answers If-None-Match with 304 while the user's data is unchanged
      */
     @GetMapping("/monthly")
-    public ResponseEntity<List<Map<String, Object>>> getMonthlyBudgets(
+    public ResponseEntity<List<BudgetStatus>> getMonthlyBudgets(
             @PathVariable Long userId,
             @RequestParam int month,
-            @RequestParam int year) {
-        List<Map<String, Object>> budgets = budgetService.getMonthlyBudgetsWithStatus(
+            @RequestParam int year,
+            WebRequest request) {
+        String etag = dataVersionTracker.userETag(userId);
+        if (conditionalRequests.isNotModified(request, etag, "budgets.monthly")) {
+            return conditionalRequests.notModified(etag);
+        }
+        
+        List<BudgetStatus> budgets = budgetService.getMonthlyBudgetsWithStatus(
             userId, month, year);
-        return ResponseEntity.ok(budgets);
+        return conditionalRequests.ok(budgets, etag);
     }
     
     /**
      * Get budget status for a specific category
      */
     @GetMapping("/category/{categoryId}/status")
-    public ResponseEntity<Map<String, Object>> getBudgetStatus(
+    public ResponseEntity<BudgetStatus> getBudgetStatus(
             @PathVariable Long userId,
             @PathVariable Long categoryId,
             @RequestParam int month,
             @RequestParam int year) {
         
-        Map<String, Object> status = budgetService.getBudgetStatus(
+        BudgetStatus status = budgetService.getBudgetStatus(
             userId, categoryId, month, year);
         
         if (status == null) {
@@ -87,6 +102,7 @@ public class BudgetController {
         
         Budget budget = new Budget();
         budget.setAmount(budgetDTO.getAmount());
+        budget.setCurrency(budgetDTO.getCurrency());
         budget.setMonth(budgetDTO.getMonth());
         budget.setYear(budgetDTO.getYear());
         budget.setAlertThreshold(budgetDTO.getAlertThreshold());
@@ -98,6 +114,28 @@ public class BudgetController {
         return new ResponseEntity<>(savedBudget, HttpStatus.CREATED);
     }
     
+    /**
+     * Create or update many budgets in one request
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> upsertBudgets(
+            @PathVariable Long userId,
+            @Valid @RequestBody BudgetBatchRequest request) {
+        Map<String, Object> result = budgetService.upsertBudgets(userId, request.getBudgets());
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Copy a month's budgets to a range of months
+     */
+    @PostMapping("/copy")
+    public ResponseEntity<Map<String, Object>> copyBudgets(
+            @PathVariable Long userId,
+            @Valid @RequestBody BudgetCopyRequest request) {
+        Map<String, Object> result = budgetService.copyBudgets(userId, request);
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * Update budget
      */
@@ -110,6 +148,7 @@ public class BudgetController {
         Budget budget = new Budget();
         budget.setId(budgetId);
         budget.setAmount(budgetDTO.getAmount());
+        budget.setCurrency(budgetDTO.getCurrency());
         budget.setMonth(budgetDTO.getMonth());
         budget.setYear(budgetDTO.getYear());
         budget.setAlertThreshold(budgetDTO.getAlertThreshold());
@@ -132,12 +171,23 @@ public class BudgetController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Delete many budgets in one request
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> deleteBudgets(
+            @PathVariable Long userId,
+            @RequestParam List<Long> ids) {
+        budgetService.deleteBudgets(userId, ids);
+        return ResponseEntity.noContent().build();
+    }
+    
     /**
      * Get budget alerts for user
      */
     @GetMapping("/alerts")
-    public ResponseEntity<List<Map<String, Object>>> getBudgetAlerts(@PathVariable Long userId) {
-        List<Map<String, Object>> alerts = budgetService.getBudgetAlerts(userId);
+    public ResponseEntity<List<BudgetAlertItem>> getBudgetAlerts(@PathVariable Long userId) {
+        List<BudgetAlertItem> alerts = budgetService.getBudgetAlerts(userId);
         return ResponseEntity.ok(alerts);
     }
 }
\ No newline at end of file
@@ -2,11 +2,13 @@ package com.expensetracker.controller;
 
 import com.expensetracker.entity.Category;
 import com.expensetracker.service.CategoryService;
+import com.expensetracker.service.DataVersionTracker;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,14 +22,21 @@ import java.util.List;
 public class CategoryController {
     
     private final CategoryService categoryService;
+    private final DataVersionTracker dataVersionTracker;
+    private final ConditionalRequests conditionalRequests;
     
     /**
      * Get all categories
      */
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest request) {
+        String etag = dataVersionTracker.categoryETag();
+        if (conditionalRequests.isNotModified(request, etag, "categories")) {
+            return conditionalRequests.notModified(etag);
+        }
+        
         List<Category> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        return conditionalRequests.ok(categories, etag);
     }
     
     /**
@@ -44,18 +53,28 @@ public class CategoryController {
      * Get system categories
      */
     @GetMapping("/system")
-    public ResponseEntity<List<Category>> getSystemCategories() {
+    public ResponseEntity<List<Category>> getSystemCategories(WebRequest request) {
+        String etag = dataVersionTracker.categoryETag();
+        if (conditionalRequests.isNotModified(request, etag, "categories.system")) {
+            return conditionalRequests.notModified(etag);
+        }
+        
         List<Category> categories = categoryService.getSystemCategories();
-        return ResponseEntity.ok(categories);
+        return conditionalRequests.ok(categories, etag);
     }
     
     /**
      * Get user-created categories
      */
     @GetMapping("/custom")
-    public ResponseEntity<List<Category>> getUserCategories() {
+    public ResponseEntity<List<Category>> getUserCategories(WebRequest request) {
+        String etag = dataVersionTracker.categoryETag();
+        if (conditionalRequests.isNotModified(request, etag, "categories.custom")) {
+            return conditionalRequests.notModified(etag);
+        }
+        
         List<Category> categories = categoryService.getUserCategories();
-        return ResponseEntity.ok(categories);
+        return conditionalRequests.ok(categories, etag);
     }
     
     /**
@@ -0,0 +1,58 @@
+package com.expensetracker.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * ETag handling shared by the polled read endpoints
+ * Responses may be stored by the client but must be revalidated, which is answered
+ * with 304 Not Modified while the data version behind the ETag is unchanged
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalRequests {
+    
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Check If-None-Match against the current ETag and count the outcome per endpoint
+     */
+    public boolean isNotModified(WebRequest request, String etag, String endpoint) {
+        boolean notModified = request.checkNotModified(etag);
+        Counter.builder("http.server.conditional.requests")
+            .description("Conditional GETs answered from the client's copy (not_modified) or recomputed (modified)")
+            .tag("endpoint", endpoint)
+            .tag("result", notModified ? "not_modified" : "modified")
+            .register(meterRegistry)
+            .increment();
+        return notModified;
+    }
+    
+    /**
+     * 304 response for a matching ETag
+     */
+    public <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(REVALIDATE)
+            .build();
+    }
+    
+    /**
+     * 200 response carrying the ETag it was computed under
+     */
+    public <T> ResponseEntity<T> ok(T body, String etag) {
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(REVALIDATE)
+            .body(body);
+    }
+}
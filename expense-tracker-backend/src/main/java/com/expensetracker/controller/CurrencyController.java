@@ -0,0 +1,41 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.service.CurrencyService;
+import com.expensetracker.service.ExchangeRates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST controller for supported currencies and exchange rate maintenance
+ */
+@RestController
+@RequestMapping("/currencies")
+@RequiredArgsConstructor
+public class CurrencyController {
+    
+    private final ExchangeRates exchangeRates;
+    private final CurrencyService currencyService;
+    
+    /**
+     * Get the currencies amounts can be recorded in
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCurrencies() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("referenceCurrency", exchangeRates.referenceCurrency());
+        response.put("currencies", exchangeRates.currencies());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Reload the exchange rate file into the rate table and the in-memory rates of this instance
+     */
+    @PostMapping("/rates/reload")
+    public ResponseEntity<Map<String, Object>> reloadRates() {
+        return ResponseEntity.ok(currencyService.reloadRates());
+    }
+}
@@ -0,0 +1,74 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.dto.RecurringRuleDTO;
+import com.expensetracker.entity.RecurringRule;
+import com.expensetracker.service.RecurringRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for recurring transaction rules
+ */
+@RestController
+@RequestMapping("/users/{userId}/recurring-rules")
+@RequiredArgsConstructor
+public class RecurringRuleController {
+    
+    private final RecurringRuleService recurringRuleService;
+    
+    /**
+     * Get all recurring rules for a user
+     */
+    @GetMapping
+    public ResponseEntity<List<RecurringRule>> getUserRules(@PathVariable Long userId) {
+        return ResponseEntity.ok(recurringRuleService.getUserRules(userId));
+    }
+    
+    /**
+     * Get recurring rule by ID
+     */
+    @GetMapping("/{ruleId}")
+    public ResponseEntity<RecurringRule> getRule(
+            @PathVariable Long userId,
+            @PathVariable Long ruleId) {
+        return ResponseEntity.ok(recurringRuleService.getRule(userId, ruleId));
+    }
+    
+    /**
+     * Create a recurring rule
+     */
+    @PostMapping
+    public ResponseEntity<RecurringRule> createRule(
+            @PathVariable Long userId,
+            @Valid @RequestBody RecurringRuleDTO ruleDTO) {
+        RecurringRule rule = recurringRuleService.createRule(userId, ruleDTO);
+        return new ResponseEntity<>(rule, HttpStatus.CREATED);
+    }
+    
+    /**
+     * Update a recurring rule
+     */
+    @PutMapping("/{ruleId}")
+    public ResponseEntity<RecurringRule> updateRule(
+            @PathVariable Long userId,
+            @PathVariable Long ruleId,
+            @Valid @RequestBody RecurringRuleDTO ruleDTO) {
+        return ResponseEntity.ok(recurringRuleService.updateRule(userId, ruleId, ruleDTO));
+    }
+    
+    /**
+     * Delete a recurring rule
+     */
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<Void> deleteRule(
+            @PathVariable Long userId,
+            @PathVariable Long ruleId) {
+        recurringRuleService.deleteRule(userId, ruleId);
+        return ResponseEntity.noContent().build();
+    }
+}
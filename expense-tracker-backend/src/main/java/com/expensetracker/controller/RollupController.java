@@ -0,0 +1,46 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST controller for monthly rollup maintenance
+ * Exposes rebuild and drift verification of the pre-aggregated summary table
+ */
+@RestController
+@RequestMapping("/admin/rollups")
+@RequiredArgsConstructor
+public class RollupController {
+    
+    private final RollupService rollupService;
+    
+    /**
+     * Verify rollups against raw transactions and report drift
+     */
+    @GetMapping("/verify")
+    public ResponseEntity<Map<String, Object>> verifyRollups(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "false") boolean repair) {
+        Map<String, Object> report = rollupService.verify(userId, repair);
+        return ResponseEntity.ok(report);
+    }
+    
+    /**
+     * Rebuild rollups from raw transactions
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups(
+            @RequestParam(required = false) Long userId) {
+        int rows = rollupService.rebuild(userId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("userId", userId);
+        response.put("rowsWritten", rows);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,26 @@
+package com.expensetracker.controller;
+
+import com.expensetracker.service.UserEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for live updates over server-sent events
+ */
+@RestController
+@RequestMapping("/users/{userId}/stream")
+@RequiredArgsConstructor
+public class StreamController {
+    
+    private final UserEventStream userEventStream;
+    
+    /**
+     * Stream summary, budget status and alert updates for a user
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long userId) {
+        return userEventStream.subscribe(userId);
+    }
+}
@@ -1,24 +1,46 @@
 package com.expensetracker.controller;
 
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.dto.TransactionCursor;
 import com.expensetracker.dto.TransactionDTO;
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.dto.TransactionListItem;
+import com.expensetracker.dto.YearlySummary;
 import com.expensetracker.entity.Transaction;
 import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.service.DataVersionTracker;
+import com.expensetracker.service.TransactionExportService;
+import com.expensetracker.service.TransactionExportService.ExportFormat;
+import com.expensetracker.service.TransactionImportService;
+import com.expensetracker.service.TransactionSearchService;
+import com.expensetracker.service.TransactionSeriesService;
+import com.expensetracker.service.TransactionSeriesService.SeriesInterval;
 import com.expensetracker.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * REST controller for Transaction management
@@ -30,17 +52,27 @@ import java.util.Map;
 public class TransactionController {
     
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionSeriesService transactionSeriesService;
+    private final TransactionSearchService transactionSearchService;
+    private final DataVersionTracker dataVersionTracker;
+    private final ConditionalRequests conditionalRequests;
     
     /**
      * Get all transactions for a user with pagination and filtering
      */
     @GetMapping
-    public ResponseEntity<Page<Transaction>> getTransactions(
+    public ResponseEntity<Page<TransactionListItem>> getTransactions(
             @PathVariable Long userId,
             @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Set<Long> categoryIds,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String description,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "transactionDate") String sortBy,
@@ -50,21 +82,104 @@ public class TransactionController {
             Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
         
-        Page<Transaction> transactions = transactionService.getFilteredTransactions(
-            userId, categoryId, startDate, endDate, type, pageable);
+        TransactionFilter filter = buildFilter(
+            categoryId, categoryIds, startDate, endDate, type, minAmount, maxAmount, description);
+        Page<TransactionListItem> transactions = transactionService.getFilteredTransactions(userId, filter, pageable);
         
         return ResponseEntity.ok(transactions);
     }
     
+    /**
+     * Get transactions using keyset pagination for infinite scroll
+     * Pass the returned nextCursor back as cursor to fetch the following slice
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<Map<String, Object>> getTransactionsByCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Set<Long> categoryIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        TransactionFilter filter = buildFilter(
+            categoryId, categoryIds, startDate, endDate, type, minAmount, maxAmount, description);
+        Slice<TransactionListItem> slice = transactionService.getTransactionsAfter(
+            userId, filter, TransactionCursor.decode(cursor), size);
+        
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            TransactionListItem last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = new TransactionCursor(last.transactionDate(), last.id()).encode();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", slice.getContent());
+        response.put("size", slice.getNumberOfElements());
+        response.put("hasNext", slice.hasNext());
+        response.put("nextCursor", nextCursor);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Search transaction descriptions by word prefix, optionally tolerating typos
+     * Results are ordered by relevance and combine with the listing filters
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<TransactionListItem>> searchTransactions(
+            @PathVariable Long userId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Set<Long> categoryIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        TransactionFilter filter = buildFilter(
+            categoryId, categoryIds, startDate, endDate, type, minAmount, maxAmount, null);
+        Page<TransactionListItem> results = transactionSearchService.search(
+            userId, q, fuzzy, filter, page, size);
+        return ResponseEntity.ok(results);
+    }
+    
     /**
      * Get recent transactions for quick view
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<Transaction>> getRecentTransactions(@PathVariable Long userId) {
-        List<Transaction> transactions = transactionService.getRecentTransactions(userId);
+    public ResponseEntity<List<TransactionListItem>> getRecentTransactions(@PathVariable Long userId) {
+        List<TransactionListItem> transactions = transactionService.getRecentTransactions(userId);
         return ResponseEntity.ok(transactions);
     }
     
+    /**
+     * Export a user's full transaction history as CSV or NDJSON
+     * Rows are streamed from the database so memory use does not grow with history size
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "csv") String format) {
+        
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingResponseBody body = output -> transactionExportService.export(userId, exportFormat, output);
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions-" + userId + "." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+    
     /**
      * Get transaction by ID
      */
@@ -87,6 +202,7 @@ public class TransactionController {
         
         Transaction transaction = new Transaction();
         transaction.setAmount(transactionDTO.getAmount());
+        transaction.setCurrency(transactionDTO.getCurrency());
         transaction.setDescription(transactionDTO.getDescription());
         transaction.setTransactionDate(transactionDTO.getTransactionDate());
         transaction.setType(transactionDTO.getType());
@@ -97,6 +213,30 @@ public class TransactionController {
         return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
     }
     
+    /**
+     * Bulk import transactions from a JSON array of transaction objects
+     * Invalid rows are reported individually without aborting the import
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> importTransactionsJson(
+            @PathVariable Long userId,
+            InputStream body) throws IOException {
+        Map<String, Object> report = transactionImportService.importJson(userId, body);
+        return ResponseEntity.ok(report);
+    }
+    
+    /**
+     * Bulk import transactions from CSV
+     * Header: amount,description,transactionDate,categoryId,type (optional currency column)
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<Map<String, Object>> importTransactionsCsv(
+            @PathVariable Long userId,
+            InputStream body) throws IOException {
+        Map<String, Object> report = transactionImportService.importCsv(userId, body);
+        return ResponseEntity.ok(report);
+    }
+    
     /**
      * Update transaction
      */
@@ -108,6 +248,7 @@ public class TransactionController {
         
         Transaction transaction = new Transaction();
         transaction.setAmount(transactionDTO.getAmount());
+        transaction.setCurrency(transactionDTO.getCurrency());
         transaction.setDescription(transactionDTO.getDescription());
         transaction.setTransactionDate(transactionDTO.getTransactionDate());
         transaction.setType(transactionDTO.getType());
@@ -136,25 +277,62 @@ public class TransactionController {
     
     /**
      * Get monthly summary
+     * Answers If-None-Match with 304 while the user's data is unchanged
      */
     @GetMapping("/summary/monthly")
-    public ResponseEntity<Map<String, Object>> getMonthlySummary(
+    public ResponseEntity<MonthlySummary> getMonthlySummary(
             @PathVariable Long userId,
             @RequestParam int month,
-            @RequestParam int year) {
-        Map<String, Object> summary = transactionService.getMonthlySummary(userId, month, year);
-        return ResponseEntity.ok(summary);
+            @RequestParam int year,
+            WebRequest request) {
+        String etag = dataVersionTracker.userETag(userId);
+        if (conditionalRequests.isNotModified(request, etag, "summary.monthly")) {
+            return conditionalRequests.notModified(etag);
+        }
+        
+        MonthlySummary summary = transactionService.getMonthlySummary(userId, month, year);
+        return conditionalRequests.ok(summary, etag);
     }
     
     /**
      * Get yearly summary
+     * Answers If-None-Match with 304 while the user's data is unchanged
      */
     @GetMapping("/summary/yearly")
-    public ResponseEntity<Map<String, Object>> getYearlySummary(
+    public ResponseEntity<YearlySummary> getYearlySummary(
+            @PathVariable Long userId,
+            @RequestParam int year,
+            WebRequest request) {
+        String etag = dataVersionTracker.userETag(userId);
+        if (conditionalRequests.isNotModified(request, etag, "summary.yearly")) {
+            return conditionalRequests.notModified(etag);
+        }
+        
+        YearlySummary summary = transactionService.getYearlySummary(userId, year);
+        return conditionalRequests.ok(summary, etag);
+    }
+    
+    /**
+     * Get income and expense totals bucketed by day, week or month
+     * Answers If-None-Match with 304 while the user's data is unchanged
+     */
+    @GetMapping("/series")
+    public ResponseEntity<Map<String, Object>> getSeries(
             @PathVariable Long userId,
-            @RequestParam int year) {
-        Map<String, Object> summary = transactionService.getYearlySummary(userId, year);
-        return ResponseEntity.ok(summary);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "month") String interval,
+            @RequestParam(defaultValue = "false") boolean byCategory,
+            WebRequest request) {
+        SeriesInterval seriesInterval = SeriesInterval.parse(interval);
+        String etag = dataVersionTracker.userETag(userId);
+        if (conditionalRequests.isNotModified(request, etag, "summary.series")) {
+            return conditionalRequests.notModified(etag);
+        }
+        
+        Map<String, Object> series = transactionSeriesService.getSeries(
+            userId, startDate, endDate, seriesInterval, byCategory);
+        return conditionalRequests.ok(series, etag);
     }
     
     /**
@@ -171,4 +349,37 @@ public class TransactionController {
             userId, categoryId, startDate, endDate);
         return ResponseEntity.ok(spending);
     }
+    
+    /**
+     * Combine listing query parameters into a single filter
+     * The legacy single categoryId parameter is merged into the category set
+     */
+    private TransactionFilter buildFilter(
+            Long categoryId,
+            Set<Long> categoryIds,
+            LocalDate startDate,
+            LocalDate endDate,
+            TransactionType type,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            String description) {
+        
+        Set<Long> categories = new HashSet<>();
+        if (categoryIds != null) {
+            categories.addAll(categoryIds);
+        }
+        if (categoryId != null) {
+            categories.add(categoryId);
+        }
+        
+        return TransactionFilter.builder()
+            .categoryIds(categories)
+            .type(type)
+            .startDate(startDate)
+            .endDate(endDate)
+            .minAmount(minAmount)
+            .maxAmount(maxAmount)
+            .description(description)
+            .build();
+    }
 }
\ No newline at end of file
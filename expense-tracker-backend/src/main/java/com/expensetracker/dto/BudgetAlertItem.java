@@ -0,0 +1,18 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.BudgetAlert.AlertSeverity;
+
+import java.math.BigDecimal;
+
+/**
+ * Active alert of one budget as served by the alerts endpoint
+ * Amounts are in the owner's base currency
+ */
+public record BudgetAlertItem(
+        String category,
+        BigDecimal budgetAmount,
+        BigDecimal spent,
+        BigDecimal percentage,
+        String message,
+        AlertSeverity severity) {
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for bulk budget upserts
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetBatchRequest {
+    
+    @Valid
+    @NotEmpty(message = "At least one budget is required")
+    @Size(max = 5000, message = "At most 5000 budgets can be saved per request")
+    private List<BudgetDTO> budgets;
+}
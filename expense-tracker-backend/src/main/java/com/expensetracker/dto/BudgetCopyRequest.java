@@ -0,0 +1,47 @@
+package com.expensetracker.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for copying one month's budgets to a range of months
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetCopyRequest {
+    
+    @NotNull(message = "Source month is required")
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private Integer sourceMonth;
+    
+    @NotNull(message = "Source year is required")
+    @Min(value = 2020, message = "Year must be 2020 or later")
+    private Integer sourceYear;
+    
+    @NotNull(message = "First target month is required")
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private Integer fromMonth;
+    
+    @NotNull(message = "First target year is required")
+    @Min(value = 2020, message = "Year must be 2020 or later")
+    private Integer fromYear;
+    
+    @NotNull(message = "Last target month is required")
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private Integer toMonth;
+    
+    @NotNull(message = "Last target year is required")
+    @Min(value = 2020, message = "Year must be 2020 or later")
+    private Integer toYear;
+    
+    // Replace budgets that already exist in a target month instead of keeping them
+    private boolean overwrite = false;
+}
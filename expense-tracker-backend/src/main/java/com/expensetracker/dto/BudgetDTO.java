@@ -4,6 +4,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,6 +23,12 @@ public class BudgetDTO {
     @DecimalMin(value = "0.01", message = "Budget amount must be greater than 0")
     private BigDecimal amount;
     
+    /**
+     * ISO 4217 code of amount, defaults to the user's base currency
+     */
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+    
     @NotNull(message = "Category ID is required")
     private Long categoryId;
     
@@ -0,0 +1,12 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Total spent in one category, an entry of the monthly summary's breakdown
+ */
+public record CategoryBreakdown(
+        Long categoryId,
+        String categoryName,
+        BigDecimal total) {
+}
@@ -0,0 +1,17 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Income, expenses and per-category spending of one month, in the user's base currency
+ */
+public record MonthlySummary(
+        int month,
+        int year,
+        String currency,
+        BigDecimal totalIncome,
+        BigDecimal totalExpenses,
+        BigDecimal balance,
+        List<CategoryBreakdown> categoryBreakdown) {
+}
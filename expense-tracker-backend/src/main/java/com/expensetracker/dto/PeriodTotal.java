@@ -0,0 +1,38 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total of one transaction type over a day or month, optionally for a single category
+ * period is the day for raw transaction totals and the first of the month for rollup totals
+ */
+public record PeriodTotal(
+        LocalDate period,
+        TransactionType type,
+        Long categoryId,
+        BigDecimal total) {
+    
+    /**
+     * Daily total across categories, used by JPQL constructor expressions
+     */
+    public PeriodTotal(LocalDate day, TransactionType type, BigDecimal total) {
+        this(day, type, null, total);
+    }
+    
+    /**
+     * Monthly per-category total read from rollups, used by JPQL constructor expressions
+     */
+    public PeriodTotal(Integer year, Integer month, TransactionType type, Long categoryId, BigDecimal total) {
+        this(LocalDate.of(year, month, 1), type, categoryId, total);
+    }
+    
+    /**
+     * Monthly total across categories read from rollups, used by JPQL constructor expressions
+     */
+    public PeriodTotal(Integer year, Integer month, TransactionType type, BigDecimal total) {
+        this(LocalDate.of(year, month, 1), type, null, total);
+    }
+}
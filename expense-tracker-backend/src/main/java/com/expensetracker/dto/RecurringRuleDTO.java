@@ -0,0 +1,56 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.RecurringRule.Frequency;
+import com.expensetracker.entity.Transaction.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for RecurringRule requests
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringRuleDTO {
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+    
+    /**
+     * ISO 4217 code of amount, defaults to the user's base currency
+     */
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+    
+    private String description;
+    
+    @NotNull(message = "Category ID is required")
+    private Long categoryId;
+    
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+    
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+    
+    @Min(value = 1, message = "Interval must be between 1 and 366")
+    @Max(value = 366, message = "Interval must be between 1 and 366")
+    private Integer interval = 1;
+    
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+    
+    private LocalDate endDate;
+    
+    private Boolean active = true;
+}
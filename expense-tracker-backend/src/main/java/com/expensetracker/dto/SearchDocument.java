@@ -0,0 +1,19 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Fields of a transaction that the description search index stores and filters on
+ */
+public record SearchDocument(
+        Long id,
+        Long userId,
+        Long categoryId,
+        TransactionType type,
+        LocalDate transactionDate,
+        BigDecimal baseAmount,
+        String description) {
+}
@@ -3,6 +3,7 @@ package com.expensetracker.dto;
 import com.expensetracker.entity.Transaction.TransactionType;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,6 +23,12 @@ public class TransactionDTO {
     @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
     private BigDecimal amount;
     
+    /**
+     * ISO 4217 code of amount, defaults to the user's base currency
+     */
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+    
     private String description;
     
     @NotNull(message = "Transaction date is required")
@@ -0,0 +1,36 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filter criteria for transaction queries
+ * Every field is optional and any combination may be supplied
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilter {
+    
+    private Set<Long> categoryIds;
+    
+    private TransactionType type;
+    
+    private LocalDate startDate;
+    
+    private LocalDate endDate;
+    
+    private BigDecimal minAmount; // In the user's base currency, like maxAmount
+    
+    private BigDecimal maxAmount;
+    
+    private String description; // Case-insensitive substring match
+}
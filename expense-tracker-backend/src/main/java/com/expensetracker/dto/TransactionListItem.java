@@ -0,0 +1,49 @@
+package com.expensetracker.dto;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Slim read model for transaction listings
+ * Carries only transaction fields and the category details the UI renders, never the owning user
+ */
+public record TransactionListItem(
+        Long id,
+        BigDecimal amount,
+        String currency,
+        String description,
+        LocalDate transactionDate,
+        TransactionType type,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        CategorySummary category) {
+    
+    /**
+     * Flat constructor used by JPQL/Criteria constructor expressions
+     */
+    public TransactionListItem(
+            Long id,
+            BigDecimal amount,
+            String currency,
+            String description,
+            LocalDate transactionDate,
+            TransactionType type,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Long categoryId,
+            String categoryName,
+            String categoryColor,
+            String categoryIcon) {
+        this(id, amount, currency, description, transactionDate, type, createdAt, updatedAt,
+            new CategorySummary(categoryId, categoryName, categoryColor, categoryIcon));
+    }
+    
+    /**
+     * Category fields needed to render a listing row
+     */
+    public record CategorySummary(Long id, String name, String color, String icon) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.expensetracker.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Income and expenses of one year, in the user's base currency
+ */
+public record YearlySummary(
+        int year,
+        String currency,
+        BigDecimal totalIncome,
+        BigDecimal totalExpenses,
+        BigDecimal balance,
+        BigDecimal averageMonthlyExpense) {
+}
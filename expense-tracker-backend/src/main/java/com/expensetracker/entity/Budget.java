@@ -35,6 +35,18 @@ public class Budget {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal amount;
     
+    /**
+     * ISO 4217 code of amount
+     */
+    @Column(length = 3)
+    private String currency;
+    
+    /**
+     * Amount converted to the owner's base currency at the rate of the period's first day
+     */
+    @Column(name = "base_amount", precision = 15, scale = 2)
+    private BigDecimal baseAmount;
+    
     @NotNull(message = "Month is required")
     @Column(nullable = false)
     private Integer month; // 1-12
@@ -0,0 +1,77 @@
+package com.expensetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Active budget alert, recorded when a budget's spending crosses a threshold
+ * At most one row exists per budget and severity; it is removed once spending drops back below
+ */
+@Entity
+@Table(name = "budget_alerts",
+       uniqueConstraints = @UniqueConstraint(
+           name = "uk_budget_alert_severity",
+           columnNames = {"budget_id", "severity"}),
+       indexes = {
+           @Index(name = "idx_budget_alert_user_period", columnList = "user_id, period_year, period_month")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Column(name = "period_year", nullable = false)
+    private Integer year;
+    
+    @Column(name = "period_month", nullable = false)
+    private Integer month; // 1-12
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private AlertSeverity severity;
+    
+    @Column(name = "budget_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal budgetAmount;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal spent;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal percentage;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    /**
+     * MEDIUM once spending reaches the budget's alert threshold, HIGH once it reaches 100%
+     */
+    public enum AlertSeverity {
+        MEDIUM,
+        HIGH
+    }
+}
@@ -0,0 +1,38 @@
+package com.expensetracker.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Exchange rate of a currency against the reference currency, effective from rateDate
+ * until the currency's next rate
+ */
+@Entity
+@Table(name = "fx_rates",
+       uniqueConstraints = @UniqueConstraint(name = "uk_fx_rate", columnNames = {"currency", "rate_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+    
+    /**
+     * Units of currency per one unit of the reference currency
+     */
+    @Column(nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+}
@@ -0,0 +1,53 @@
+package com.expensetracker.entity;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated transaction totals per user, category, type and month
+ * Maintained incrementally by transaction writes so summaries never scan raw transactions
+ */
+@Entity
+@Table(name = "monthly_rollups",
+       uniqueConstraints = @UniqueConstraint(
+           name = "uk_rollup_key",
+           columnNames = {"user_id", "category_id", "type", "period_year", "period_month"}),
+       indexes = {
+           @Index(name = "idx_rollup_user_period", columnList = "user_id, period_year, period_month")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+    
+    @Column(name = "period_year", nullable = false)
+    private Integer year;
+    
+    @Column(name = "period_month", nullable = false)
+    private Integer month; // 1-12
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal total = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+}
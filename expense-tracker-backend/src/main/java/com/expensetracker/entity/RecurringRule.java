@@ -0,0 +1,170 @@
+package com.expensetracker.entity;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recurring transaction template with an RRULE-style schedule (FREQ, INTERVAL, DTSTART, UNTIL)
+ * 
+ * Occurrence k falls on startDate advanced by k * interval frequency units, so monthly rules
+ * anchored on the 31st land on the last day of shorter months and return to the 31st after.
+ * The scheduler materializes due occurrences as transactions under a time-limited lease.
+ */
+@Entity
+@Table(name = "recurring_rules", indexes = {
+    @Index(name = "idx_recurring_rule_user", columnList = "user_id"),
+    @Index(name = "idx_recurring_rule_due", columnList = "active, next_occurrence")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringRule {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(length = 3)
+    private String currency;
+    
+    @Column(length = 500)
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frequency frequency;
+    
+    @Column(name = "repeat_interval", nullable = false)
+    private Integer interval = 1;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date")
+    private LocalDate endDate;
+    
+    @Column(nullable = false)
+    private boolean active = true;
+    
+    /**
+     * Date of the next occurrence to materialize, null once the schedule has ended
+     */
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+    
+    @Column(name = "last_occurrence")
+    private LocalDate lastOccurrence;
+    
+    /**
+     * Number of schedule occurrences before nextOccurrence
+     */
+    @Column(name = "occurrence_count", nullable = false)
+    private Long occurrenceCount = 0L;
+    
+    /**
+     * Claim token of the scheduler run that holds the rule, valid until leaseUntil
+     */
+    @JsonIgnore
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+    
+    @JsonIgnore
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+    
+    @JsonIgnore
+    @Version
+    private Long version;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * Restart the schedule from startDate, skipping occurrences up to the last materialized one
+     */
+    public void reschedule() {
+        occurrenceCount = 0L;
+        LocalDate next = occurrence(0);
+        while (lastOccurrence != null && !next.isAfter(lastOccurrence)) {
+            next = occurrence(++occurrenceCount);
+        }
+        nextOccurrence = withinEnd(next);
+    }
+    
+    /**
+     * Occurrences due on or before a date, oldest first and at most limit of them
+     */
+    public List<LocalDate> dueOccurrences(LocalDate until, int limit) {
+        List<LocalDate> due = new ArrayList<>();
+        long index = occurrenceCount;
+        for (LocalDate date = nextOccurrence; date != null && !date.isAfter(until) && due.size() < limit;
+                date = withinEnd(occurrence(++index))) {
+            due.add(date);
+        }
+        return due;
+    }
+    
+    /**
+     * Record that the given number of occurrences up to lastDate were materialized
+     */
+    public void advance(int count, LocalDate lastDate) {
+        occurrenceCount += count;
+        lastOccurrence = lastDate;
+        nextOccurrence = withinEnd(occurrence(occurrenceCount));
+    }
+    
+    private LocalDate occurrence(long index) {
+        return frequency.advance(startDate, index * interval);
+    }
+    
+    private LocalDate withinEnd(LocalDate date) {
+        return endDate != null && date.isAfter(endDate) ? null : date;
+    }
+    
+    /**
+     * Repeat unit of a rule
+     */
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY,
+        YEARLY;
+        
+        /**
+         * Date a number of units after start (month and year steps clamp to the end of shorter months)
+         */
+        public LocalDate advance(LocalDate start, long units) {
+            return switch (this) {
+                case DAILY -> start.plusDays(units);
+                case WEEKLY -> start.plusWeeks(units);
+                case MONTHLY -> start.plusMonths(units);
+                case YEARLY -> start.plusYears(units);
+            };
+        }
+    }
+}
@@ -21,15 +21,31 @@ import java.time.LocalDateTime;
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_category_id", columnList = "category_id"),
-    @Index(name = "idx_transaction_date", columnList = "transaction_date")
+    @Index(name = "idx_transaction_date", columnList = "transaction_date"),
+    @Index(name = "idx_transaction_user_category_type_date",
+           columnList = "user_id, category_id, type, transaction_date"),
+    @Index(name = "idx_transaction_user_date_id", columnList = "user_id, transaction_date, id"),
+    @Index(name = "idx_transaction_user_type_date", columnList = "user_id, type, transaction_date"),
+    @Index(name = "idx_transaction_user_amount", columnList = "user_id, base_amount")
+}, uniqueConstraints = {
+    // One transaction per recurring rule occurrence, whichever scheduler instance writes it
+    @UniqueConstraint(name = "uk_transaction_recurring_occurrence",
+                      columnNames = {"recurring_rule_id", "transaction_date"})
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
     
+    /**
+     * Number of ids reserved per sequence call so inserts can be JDBC-batched
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq",
+                       allocationSize = Transaction.ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotNull(message = "Amount is required")
@@ -37,6 +53,19 @@ public class Transaction {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal amount;
     
+    /**
+     * ISO 4217 code of amount
+     */
+    @Column(length = 3)
+    private String currency;
+    
+    /**
+     * Amount converted to the owner's base currency at the transaction date's rate
+     * Every aggregate (rollups, summaries, budget spending) sums this column
+     */
+    @Column(name = "base_amount", precision = 15, scale = 2)
+    private BigDecimal baseAmount;
+    
     @Column(length = 500)
     private String description;
     
@@ -48,6 +77,12 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionType type = TransactionType.EXPENSE;
     
+    /**
+     * Rule this transaction was materialized from, if any
+     */
+    @Column(name = "recurring_rule_id", updatable = false)
+    private Long recurringRuleId;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
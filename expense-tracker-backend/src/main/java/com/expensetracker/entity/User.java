@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -42,6 +43,13 @@ public class User {
     @Column(name = "full_name")
     private String fullName;
     
+    /**
+     * ISO 4217 code that summaries and budgets are reported in
+     */
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Base currency must be a three-letter ISO 4217 code")
+    @Column(name = "base_currency", length = 3)
+    private String baseCurrency;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,12 @@
+package com.expensetracker.event;
+
+import com.expensetracker.dto.BudgetAlertItem;
+
+/**
+ * Published when a budget's spending newly crosses an alert threshold
+ */
+public record BudgetAlertRaisedEvent(
+        Long userId,
+        Long budgetId,
+        BudgetAlertItem alert) {
+}
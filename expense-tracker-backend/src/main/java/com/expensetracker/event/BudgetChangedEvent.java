@@ -0,0 +1,11 @@
+package com.expensetracker.event;
+
+/**
+ * Published when a user's budget for a month is created, updated or deleted
+ */
+public record BudgetChangedEvent(
+        Long userId,
+        Long budgetId,
+        int month,
+        int year) {
+}
@@ -0,0 +1,8 @@
+package com.expensetracker.event;
+
+/**
+ * Published when a category is created, updated or deleted
+ * Categories are shared, so every user's derived data is affected
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
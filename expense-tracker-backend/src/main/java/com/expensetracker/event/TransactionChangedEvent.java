@@ -0,0 +1,38 @@
+package com.expensetracker.event;
+
+import com.expensetracker.service.TransactionSnapshot;
+
+/**
+ * Published when a user's transactions change
+ * before/after are null for creates/deletes respectively, and transactionId, before and after
+ * are all null for bulk writes (imports)
+ */
+public record TransactionChangedEvent(
+        Long userId,
+        Long transactionId,
+        TransactionSnapshot before,
+        TransactionSnapshot after) {
+    
+    public static TransactionChangedEvent created(Long transactionId, TransactionSnapshot after) {
+        return new TransactionChangedEvent(after.userId(), transactionId, null, after);
+    }
+    
+    public static TransactionChangedEvent updated(Long transactionId, TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChangedEvent(after.userId(), transactionId, before, after);
+    }
+    
+    public static TransactionChangedEvent deleted(Long transactionId, TransactionSnapshot before) {
+        return new TransactionChangedEvent(before.userId(), transactionId, before, null);
+    }
+    
+    public static TransactionChangedEvent bulk(Long userId) {
+        return new TransactionChangedEvent(userId, null, null, null);
+    }
+    
+    /**
+     * Check if the individual changes are unknown and derived data must be recomputed
+     */
+    public boolean isBulk() {
+        return before == null && after == null;
+    }
+}
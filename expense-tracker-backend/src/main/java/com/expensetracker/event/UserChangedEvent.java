@@ -0,0 +1,7 @@
+package com.expensetracker.event;
+
+/**
+ * Published when a user's profile is updated or deactivated
+ */
+public record UserChangedEvent(Long userId) {
+}
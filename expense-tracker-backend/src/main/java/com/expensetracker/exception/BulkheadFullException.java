@@ -0,0 +1,14 @@
+package com.expensetracker.exception;
+
+/**
+ * Thrown when a request could not get a database slot within the bulkhead timeout
+ * Mapped to 503 Service Unavailable so clients can retry
+ */
+public class BulkheadFullException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
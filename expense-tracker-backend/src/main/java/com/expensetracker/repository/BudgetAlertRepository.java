@@ -0,0 +1,52 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.BudgetAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for BudgetAlert entity operations
+ */
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+    
+    /**
+     * Find the active alerts of a budget (at most one per severity)
+     */
+    List<BudgetAlert> findByBudgetId(Long budgetId);
+    
+    /**
+     * Delete all alerts of a budget
+     */
+    @Modifying
+    @Query("DELETE FROM BudgetAlert a WHERE a.budgetId = :budgetId")
+    int deleteByBudgetId(@Param("budgetId") Long budgetId);
+    
+    /**
+     * Get a user's alerts for a month with the current category name, highest percentage first
+     */
+    @Query("SELECT a as alert, c.name as categoryName " +
+           "FROM BudgetAlert a JOIN Category c ON c.id = a.categoryId " +
+           "WHERE a.userId = :userId " +
+           "AND a.year = :year " +
+           "AND a.month = :month " +
+           "ORDER BY a.percentage DESC")
+    List<AlertWithCategory> findAlertsWithCategory(
+        @Param("userId") Long userId,
+        @Param("year") Integer year,
+        @Param("month") Integer month
+    );
+    
+    /**
+     * Interface for alert with category name projection
+     */
+    interface AlertWithCategory {
+        BudgetAlert getAlert();
+        String getCategoryName();
+    }
+}
@@ -1,11 +1,16 @@
 package com.expensetracker.repository;
 
 import com.expensetracker.entity.Budget;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +19,7 @@ import java.util.Optional;
  * Provides budget management queries
  */
 @Repository
-public interface BudgetRepository extends JpaRepository<Budget, Long> {
+public interface BudgetRepository extends JpaRepository<Budget, Long>, BudgetRepositoryCustom {
     
     /**
      * Find budget for a specific user, category, month and year
@@ -32,10 +37,34 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUserIdAndMonthAndYear(Long userId, Integer month, Integer year);
     
     /**
-     * Find all budgets for a user
+     * Find a budget with its user and category, so it serializes without lazy proxies
      */
+    @Override
+    @EntityGraph(attributePaths = {"user", "category"})
+    Optional<Budget> findById(Long id);
+    
+    /**
+     * Find all budgets for a user, with user and category fetched in the same statement
+     */
+    @EntityGraph(attributePaths = {"user", "category"})
     List<Budget> findByUserId(Long userId);
     
+    /**
+     * Find a user's budgets by id, ignoring ids that belong to other users
+     */
+    List<Budget> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+    
+    /**
+     * Find a user's budgets in an inclusive range of periods encoded as year * 100 + month
+     */
+    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId " +
+           "AND b.year * 100 + b.month BETWEEN :fromPeriod AND :toPeriod")
+    List<Budget> findByUserIdAndPeriodBetween(
+        @Param("userId") Long userId,
+        @Param("fromPeriod") int fromPeriod,
+        @Param("toPeriod") int toPeriod
+    );
+    
     /**
      * Check if budget exists for user and category in a specific period
      */
@@ -47,25 +76,55 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     );
     
     /**
-     * Get budget with spent amount calculation
+     * Get budgets for a month with spent amount calculation
+     * Date range is derived from the budget period so the transaction date index stays usable
      */
-    @Query("SELECT b as budget, " +
-           "(SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
-           "WHERE t.user.id = b.user.id " +
+    default List<BudgetWithSpent> findBudgetsWithSpent(Long userId, Integer month, Integer year) {
+        YearMonth period = YearMonth.of(year, month);
+        return findBudgetsWithSpentBetween(userId, month, year, period.atDay(1), period.atEndOfMonth());
+    }
+    
+    /**
+     * Get budgets with spent amount calculated in a single grouped join
+     * Category and user are fetched in the same statement so callers never trigger lazy loads
+     * startDate/endDate must match Budget.getStartDate()/getEndDate() for the given month
+     */
+    @Query("SELECT b as budget, COALESCE(SUM(t.baseAmount), 0) as spent " +
+           "FROM Budget b " +
+           "JOIN FETCH b.category c " +
+           "JOIN FETCH b.user u " +
+           "LEFT JOIN Transaction t " +
+           "ON t.user.id = b.user.id " +
            "AND t.category.id = b.category.id " +
            "AND t.type = 'EXPENSE' " +
-           "AND MONTH(t.transactionDate) = b.month " +
-           "AND YEAR(t.transactionDate) = b.year) as spent " +
-           "FROM Budget b " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
            "WHERE b.user.id = :userId " +
            "AND b.month = :month " +
-           "AND b.year = :year")
-    List<BudgetWithSpent> findBudgetsWithSpent(
+           "AND b.year = :year " +
+           "GROUP BY b, c, u")
+    List<BudgetWithSpent> findBudgetsWithSpentBetween(
         @Param("userId") Long userId,
         @Param("month") Integer month,
-        @Param("year") Integer year
+        @Param("year") Integer year,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
     );
     
+    /**
+     * Users holding budgets in a currency other than their base currency
+     */
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.currency <> b.user.baseCurrency")
+    List<Long> findUserIdsWithForeignCurrency();
+    
+    /**
+     * Price budgets written before currencies existed in the given currency, one to one
+     */
+    @Modifying
+    @Query("UPDATE Budget b " +
+           "SET b.currency = :currency, b.baseAmount = b.amount " +
+           "WHERE b.baseAmount IS NULL")
+    int backfillCurrency(@Param("currency") String currency);
+    
     /**
      * Interface for budget with spent amount projection
      */
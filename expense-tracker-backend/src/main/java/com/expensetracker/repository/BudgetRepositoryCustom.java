@@ -0,0 +1,19 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.Budget;
+
+import java.util.Collection;
+
+/**
+ * Custom repository operations for Budget that derived queries cannot express
+ */
+public interface BudgetRepositoryCustom {
+    
+    /**
+     * Insert or update budgets on the (user, category, month, year) key in set-based MERGE statements
+     * Entries must be unique per key and carry user and category references.
+     * Existing budgets keep their values when overwrite is false.
+     * Returns the number of rows inserted or updated
+     */
+    int upsertAll(Collection<Budget> budgets, boolean overwrite);
+}
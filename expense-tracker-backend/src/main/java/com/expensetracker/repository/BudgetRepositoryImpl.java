@@ -0,0 +1,87 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.Budget;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Native SQL implementation of the custom Budget repository operations
+ * Uses the standard SQL MERGE statement supported by both PostgreSQL 15+ and H2
+ */
+public class BudgetRepositoryImpl implements BudgetRepositoryCustom {
+    
+    /**
+     * Rows per statement, well below the bind parameter limits of the supported drivers
+     */
+    private static final int ROWS_PER_STATEMENT = 500;
+    
+    private static final String SOURCE_ROW =
+        "(CAST(?%d AS BIGINT), CAST(?%d AS BIGINT), CAST(?%d AS INTEGER), CAST(?%d AS INTEGER), " +
+        "CAST(?%d AS DECIMAL(10,2)), CAST(?%d AS VARCHAR(3)), CAST(?%d AS DECIMAL(15,2)), " +
+        "CAST(?%d AS INTEGER), CAST(?%d AS VARCHAR(500)))";
+    
+    private static final int COLUMNS = 9;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int upsertAll(Collection<Budget> budgets, boolean overwrite) {
+        List<Budget> rows = new ArrayList<>(budgets);
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            affected += merge(rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size())), overwrite);
+        }
+        return affected;
+    }
+    
+    private int merge(List<Budget> rows, boolean overwrite) {
+        StringJoiner values = new StringJoiner(", ");
+        for (int row = 0; row < rows.size(); row++) {
+            Object[] positions = new Object[COLUMNS];
+            for (int column = 0; column < COLUMNS; column++) {
+                positions[column] = row * COLUMNS + column + 1;
+            }
+            values.add(String.format(SOURCE_ROW, positions));
+        }
+        
+        String sql = "MERGE INTO budgets b " +
+            "USING (VALUES " + values + ") " +
+            "AS s (user_id, category_id, month, year, amount, currency, base_amount, alert_threshold, notes) " +
+            "ON b.user_id = s.user_id AND b.category_id = s.category_id " +
+            "AND b.month = s.month AND b.year = s.year " +
+            (overwrite
+                ? "WHEN MATCHED THEN UPDATE SET amount = s.amount, currency = s.currency, " +
+                  "base_amount = s.base_amount, alert_threshold = s.alert_threshold, notes = s.notes "
+                : "") +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(user_id, category_id, month, year, amount, currency, base_amount, alert_threshold, notes) " +
+            "VALUES (s.user_id, s.category_id, s.month, s.year, s.amount, s.currency, s.base_amount, " +
+            "s.alert_threshold, s.notes)";
+        
+        Query query = entityManager.createNativeQuery(sql);
+        // Only budgets are touched, so pending changes to other entities need not be flushed first
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Budget.class);
+        
+        int position = 1;
+        for (Budget budget : rows) {
+            query.setParameter(position++, budget.getUser().getId());
+            query.setParameter(position++, budget.getCategory().getId());
+            query.setParameter(position++, budget.getMonth());
+            query.setParameter(position++, budget.getYear());
+            query.setParameter(position++, budget.getAmount());
+            query.setParameter(position++, budget.getCurrency());
+            query.setParameter(position++, budget.getBaseAmount());
+            query.setParameter(position++, budget.getAlertThreshold());
+            query.setParameter(position++, budget.getNotes());
+        }
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,12 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for FxRate entity operations
+ */
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, Long> {
+}
@@ -0,0 +1,124 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.PeriodTotal;
+import com.expensetracker.entity.MonthlyRollup;
+import com.expensetracker.entity.Transaction.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository interface for MonthlyRollup entity operations
+ * Provides incremental maintenance and summary queries over the rollup table
+ */
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long>, MonthlyRollupRepositoryCustom {
+    
+    /**
+     * Get per-category totals of both types for a user in a specific month
+     * Income, expense and the expense breakdown of the monthly summary all fold out of this one result
+     */
+    @Query("SELECT r.categoryId as categoryId, " +
+           "c.name as categoryName, " +
+           "r.type as type, " +
+           "SUM(r.total) as total " +
+           "FROM MonthlyRollup r JOIN Category c ON c.id = r.categoryId " +
+           "WHERE r.userId = :userId " +
+           "AND r.year = :year " +
+           "AND r.month = :month " +
+           "AND r.transactionCount > 0 " +
+           "GROUP BY r.categoryId, c.name, r.type " +
+           "ORDER BY total DESC")
+    List<CategoryTypeTotal> getMonthlyCategoryTotals(
+        @Param("userId") Long userId,
+        @Param("year") Integer year,
+        @Param("month") Integer month
+    );
+    
+    /**
+     * Get totals per transaction type for a user in a specific year
+     */
+    @Query("SELECT r.type as type, " +
+           "SUM(r.total) as total " +
+           "FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId " +
+           "AND r.year = :year " +
+           "GROUP BY r.type")
+    List<TypeTotal> getYearlyTypeTotals(
+        @Param("userId") Long userId,
+        @Param("year") Integer year
+    );
+    
+    /**
+     * Get monthly totals per type for a user over an inclusive range of periods (year * 100 + month)
+     * The year bounds keep the (user, year, month) index usable
+     */
+    @Query("SELECT new com.expensetracker.dto.PeriodTotal(r.year, r.month, r.type, SUM(r.total)) " +
+           "FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId " +
+           "AND r.year BETWEEN :fromPeriod / 100 AND :toPeriod / 100 " +
+           "AND r.year * 100 + r.month BETWEEN :fromPeriod AND :toPeriod " +
+           "GROUP BY r.year, r.month, r.type")
+    List<PeriodTotal> getMonthlyTotals(
+        @Param("userId") Long userId,
+        @Param("fromPeriod") int fromPeriod,
+        @Param("toPeriod") int toPeriod
+    );
+    
+    /**
+     * Get monthly totals per type and category for a user over an inclusive range of periods
+     */
+    @Query("SELECT new com.expensetracker.dto.PeriodTotal(r.year, r.month, r.type, r.categoryId, SUM(r.total)) " +
+           "FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId " +
+           "AND r.year BETWEEN :fromPeriod / 100 AND :toPeriod / 100 " +
+           "AND r.year * 100 + r.month BETWEEN :fromPeriod AND :toPeriod " +
+           "GROUP BY r.year, r.month, r.type, r.categoryId")
+    List<PeriodTotal> getMonthlyCategoryTotalsBetween(
+        @Param("userId") Long userId,
+        @Param("fromPeriod") int fromPeriod,
+        @Param("toPeriod") int toPeriod
+    );
+    
+    /**
+     * Projection for per-category totals of one transaction type
+     */
+    interface CategoryTypeTotal {
+        Long getCategoryId();
+        String getCategoryName();
+        BigDecimal getTotal();
+        TransactionType getType();
+    }
+    
+    /**
+     * Projection for the total of one transaction type
+     */
+    interface TypeTotal {
+        TransactionType getType();
+        BigDecimal getTotal();
+    }
+    
+    /**
+     * Find all rollup rows for a user
+     */
+    List<MonthlyRollup> findByUserId(Long userId);
+    
+    /**
+     * Delete all rollup rows for a user
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Delete all rollup rows
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r")
+    int deleteAllRows();
+}
@@ -0,0 +1,19 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Custom repository operations for MonthlyRollup that derived queries cannot express
+ */
+public interface MonthlyRollupRepositoryCustom {
+    
+    /**
+     * Add an amount and count delta to a rollup row, inserting the row when it does not exist yet
+     * Runs as a single upsert statement, so concurrent writers to a new bucket cannot collide
+     * on the rollup key. Returns the number of rows inserted or updated
+     */
+    int upsertDelta(Long userId, Long categoryId, TransactionType type, int year, int month,
+                    BigDecimal amount, long count);
+}
@@ -0,0 +1,84 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+/**
+ * Native SQL implementation of the custom MonthlyRollup repository operations
+ * PostgreSQL uses INSERT ... ON CONFLICT DO UPDATE, which is atomic under concurrent inserts.
+ * Other databases (H2) use the standard SQL MERGE statement, which is not: two writers can both
+ * take the insert branch, and the one that waited on the other's commit gets a duplicate key.
+ * That statement is retried and then takes the update branch. Statements go through JdbcTemplate
+ * on the transaction's connection, so a failed attempt does not mark the JPA transaction
+ * rollback-only. Parameters are plain JDBC "?" placeholders: pgjdbc reads "?1" as "?" followed
+ * by a literal 1.
+ */
+public class MonthlyRollupRepositoryImpl implements MonthlyRollupRepositoryCustom {
+    
+    static final String ON_CONFLICT_UPSERT =
+        "INSERT INTO monthly_rollups " +
+        "(user_id, category_id, type, period_year, period_month, total, transaction_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (user_id, category_id, type, period_year, period_month) DO UPDATE SET " +
+        "total = monthly_rollups.total + EXCLUDED.total, " +
+        "transaction_count = monthly_rollups.transaction_count + EXCLUDED.transaction_count";
+    
+    static final String MERGE_UPSERT =
+        "MERGE INTO monthly_rollups r " +
+        "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), " +
+        "CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS DECIMAL(15,2)), CAST(? AS BIGINT))) " +
+        "AS s (user_id, category_id, type, period_year, period_month, total, transaction_count) " +
+        "ON r.user_id = s.user_id AND r.category_id = s.category_id AND r.type = s.type " +
+        "AND r.period_year = s.period_year AND r.period_month = s.period_month " +
+        "WHEN MATCHED THEN UPDATE SET total = r.total + s.total, " +
+        "transaction_count = r.transaction_count + s.transaction_count " +
+        "WHEN NOT MATCHED THEN INSERT " +
+        "(user_id, category_id, type, period_year, period_month, total, transaction_count) " +
+        "VALUES (s.user_id, s.category_id, s.type, s.period_year, s.period_month, s.total, s.transaction_count)";
+    
+    private static final int MAX_ATTEMPTS = 3;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private volatile String upsertSql;
+    
+    public MonthlyRollupRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public int upsertDelta(Long userId, Long categoryId, TransactionType type, int year, int month,
+                           BigDecimal amount, long count) {
+        String sql = upsertSql();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return jdbcTemplate.update(sql, userId, categoryId, type.name(), year, month, amount, count);
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            boolean postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+            sql = postgres ? ON_CONFLICT_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
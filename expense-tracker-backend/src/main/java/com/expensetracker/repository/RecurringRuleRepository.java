@@ -0,0 +1,71 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.entity.RecurringRule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for RecurringRule entity operations
+ */
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Long> {
+    
+    /**
+     * Find a user's rules, oldest first
+     */
+    List<RecurringRule> findByUserIdOrderByIdAsc(Long userId);
+    
+    /**
+     * Find a rule owned by a user
+     */
+    Optional<RecurringRule> findByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Find ids of active rules with an occurrence due that no other run holds a live lease on
+     */
+    @Query("SELECT r.id FROM RecurringRule r " +
+           "WHERE r.active = true " +
+           "AND r.nextOccurrence <= :today " +
+           "AND (r.leaseUntil IS NULL OR r.leaseUntil < :now) " +
+           "ORDER BY r.nextOccurrence, r.id")
+    List<Long> findDueIds(
+        @Param("today") LocalDate today,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    /**
+     * Take the lease on those of the given rules that are still free
+     * The conditional update is atomic per row, so concurrent runs never claim the same rule
+     */
+    @Modifying
+    @Query("UPDATE RecurringRule r SET r.leaseOwner = :owner, r.leaseUntil = :until " +
+           "WHERE r.id IN :ids " +
+           "AND (r.leaseUntil IS NULL OR r.leaseUntil < :now)")
+    int claim(
+        @Param("ids") Collection<Long> ids,
+        @Param("owner") String owner,
+        @Param("until") LocalDateTime until,
+        @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Find the rules a claim token holds
+     */
+    List<RecurringRule> findByLeaseOwner(String leaseOwner);
+    
+    /**
+     * Find one rule if a claim token still holds it
+     */
+    List<RecurringRule> findByIdAndLeaseOwner(Long id, String leaseOwner);
+}
@@ -1,24 +1,35 @@
 package com.expensetracker.repository;
 
+import com.expensetracker.dto.PeriodTotal;
+import com.expensetracker.dto.SearchDocument;
+import com.expensetracker.dto.TransactionListItem;
 import com.expensetracker.entity.Transaction;
 import com.expensetracker.entity.Transaction.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Transaction entity operations
  * Provides advanced querying with pagination and filtering capabilities
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+        JpaSpecificationExecutor<Transaction>, TransactionRepositoryCustom {
     
     /**
      * Find all transactions for a specific user with pagination
@@ -26,96 +37,224 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Page<Transaction> findByUserId(Long userId, Pageable pageable);
     
     /**
-     * Find transactions by user and date range with pagination
-     */
-    Page<Transaction> findByUserIdAndTransactionDateBetween(
-        Long userId, 
-        LocalDate startDate, 
-        LocalDate endDate, 
-        Pageable pageable
-    );
-    
-    /**
-     * Find transactions by user and category with pagination
-     */
-    Page<Transaction> findByUserIdAndCategoryId(Long userId, Long categoryId, Pageable pageable);
-    
-    /**
-     * Find transactions by user, category and date range
-     */
-    Page<Transaction> findByUserIdAndCategoryIdAndTransactionDateBetween(
-        Long userId,
-        Long categoryId,
-        LocalDate startDate,
-        LocalDate endDate,
-        Pageable pageable
-    );
-    
-    /**
-     * Find transactions by user and type
-     */
-    Page<Transaction> findByUserIdAndType(Long userId, TransactionType type, Pageable pageable);
-    
-    /**
-     * Calculate total spending for a user in a date range
+     * Calculate total spending by category for a user in a date range
      */
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+    @Query("SELECT COALESCE(SUM(t.baseAmount), 0) FROM Transaction t " +
            "WHERE t.user.id = :userId " +
+           "AND t.category.id = :categoryId " +
            "AND t.type = :type " +
            "AND t.transactionDate BETWEEN :startDate AND :endDate")
-    BigDecimal calculateTotalByUserAndTypeAndDateRange(
+    BigDecimal calculateTotalByCategoryAndDateRange(
         @Param("userId") Long userId,
+        @Param("categoryId") Long categoryId,
         @Param("type") TransactionType type,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
     
     /**
-     * Calculate total spending by category for a user in a date range
+     * Get daily totals per type for a user in a date range
      */
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+    @Query("SELECT new com.expensetracker.dto.PeriodTotal(t.transactionDate, t.type, SUM(t.baseAmount)) " +
+           "FROM Transaction t " +
            "WHERE t.user.id = :userId " +
-           "AND t.category.id = :categoryId " +
-           "AND t.type = :type " +
-           "AND t.transactionDate BETWEEN :startDate AND :endDate")
-    BigDecimal calculateTotalByCategoryAndDateRange(
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.transactionDate, t.type")
+    List<PeriodTotal> getDailyTotals(
         @Param("userId") Long userId,
-        @Param("categoryId") Long categoryId,
-        @Param("type") TransactionType type,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
     
     /**
-     * Get spending breakdown by category for a user in a date range
+     * Get daily totals per type and category for a user in a date range
      */
-    @Query("SELECT t.category.id as categoryId, " +
-           "t.category.name as categoryName, " +
-           "SUM(t.amount) as total " +
+    @Query("SELECT new com.expensetracker.dto.PeriodTotal(t.transactionDate, t.type, t.category.id, SUM(t.baseAmount)) " +
            "FROM Transaction t " +
            "WHERE t.user.id = :userId " +
-           "AND t.type = :type " +
            "AND t.transactionDate BETWEEN :startDate AND :endDate " +
-           "GROUP BY t.category.id, t.category.name " +
-           "ORDER BY total DESC")
-    List<CategorySpending> getCategoryBreakdown(
+           "GROUP BY t.transactionDate, t.type, t.category.id")
+    List<PeriodTotal> getDailyCategoryTotals(
         @Param("userId") Long userId,
-        @Param("type") TransactionType type,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
     
     /**
-     * Interface for category spending projection
+     * Aggregate raw transactions per user, category, type and month
+     * Used to rebuild and verify the monthly rollup table
      */
-    interface CategorySpending {
+    @Query("SELECT t.user.id as userId, " +
+           "t.category.id as categoryId, " +
+           "t.type as type, " +
+           "YEAR(t.transactionDate) as year, " +
+           "MONTH(t.transactionDate) as month, " +
+           "SUM(t.baseAmount) as total, " +
+           "COUNT(t) as transactionCount " +
+           "FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "GROUP BY t.user.id, t.category.id, t.type, YEAR(t.transactionDate), MONTH(t.transactionDate)")
+    List<MonthlyTotal> aggregateMonthlyTotalsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Aggregate raw transactions per user, category, type and month for all users
+     */
+    @Query("SELECT t.user.id as userId, " +
+           "t.category.id as categoryId, " +
+           "t.type as type, " +
+           "YEAR(t.transactionDate) as year, " +
+           "MONTH(t.transactionDate) as month, " +
+           "SUM(t.baseAmount) as total, " +
+           "COUNT(t) as transactionCount " +
+           "FROM Transaction t " +
+           "GROUP BY t.user.id, t.category.id, t.type, YEAR(t.transactionDate), MONTH(t.transactionDate)")
+    List<MonthlyTotal> aggregateMonthlyTotals();
+    
+    /**
+     * Interface for monthly aggregate projection
+     */
+    interface MonthlyTotal {
+        Long getUserId();
         Long getCategoryId();
-        String getCategoryName();
+        TransactionType getType();
+        Integer getYear();
+        Integer getMonth();
         BigDecimal getTotal();
+        Long getTransactionCount();
+    }
+    
+    /**
+     * Stream a user's full history as flat rows for export, oldest first
+     * Rows are read through a forward-only cursor and are never attached to the persistence context
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id as id, " +
+           "t.transactionDate as transactionDate, " +
+           "t.type as type, " +
+           "t.amount as amount, " +
+           "t.currency as currency, " +
+           "t.description as description, " +
+           "c.id as categoryId, " +
+           "c.name as categoryName " +
+           "FROM Transaction t JOIN t.category c " +
+           "WHERE t.user.id = :userId " +
+           "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionExportRow> streamExportRows(@Param("userId") Long userId);
+    
+    /**
+     * Stream every described transaction for (re)building the description search index
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.expensetracker.dto.SearchDocument(" +
+           "t.id, t.user.id, t.category.id, t.type, t.transactionDate, t.baseAmount, t.description) " +
+           "FROM Transaction t " +
+           "WHERE t.description IS NOT NULL")
+    Stream<SearchDocument> streamSearchDocuments();
+    
+    /**
+     * Stream a user's described transactions for reindexing after bulk writes
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.expensetracker.dto.SearchDocument(" +
+           "t.id, t.user.id, t.category.id, t.type, t.transactionDate, t.baseAmount, t.description) " +
+           "FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "AND t.description IS NOT NULL")
+    Stream<SearchDocument> streamSearchDocumentsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Find the search index fields of a single transaction
+     */
+    @Query("SELECT new com.expensetracker.dto.SearchDocument(" +
+           "t.id, t.user.id, t.category.id, t.type, t.transactionDate, t.baseAmount, t.description) " +
+           "FROM Transaction t " +
+           "WHERE t.id = :id")
+    Optional<SearchDocument> findSearchDocument(@Param("id") Long id);
+    
+    /**
+     * Interface for transaction export projection
+     */
+    interface TransactionExportRow {
+        Long getId();
+        LocalDate getTransactionDate();
+        TransactionType getType();
+        BigDecimal getAmount();
+        String getCurrency();
+        String getDescription();
+        Long getCategoryId();
+        String getCategoryName();
+    }
+    
+    /**
+     * Find recent transactions for a user as slim list items
+     */
+    @Query("SELECT new com.expensetracker.dto.TransactionListItem(" +
+           "t.id, t.amount, t.currency, t.description, t.transactionDate, t.type, t.createdAt, t.updatedAt, " +
+           "c.id, c.name, c.color, c.icon) " +
+           "FROM Transaction t JOIN t.category c " +
+           "WHERE t.user.id = :userId " +
+           "ORDER BY t.transactionDate DESC, t.createdAt DESC")
+    List<TransactionListItem> findRecentListItems(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Distinct currency and date pairs of a user's transactions, for repricing after a base currency change
+     */
+    @Query("SELECT t.currency as currency, t.transactionDate as transactionDate " +
+           "FROM Transaction t " +
+           "WHERE t.user.id = :userId " +
+           "GROUP BY t.currency, t.transactionDate " +
+           "ORDER BY t.currency, t.transactionDate")
+    List<CurrencyDate> findCurrencyDates(@Param("userId") Long userId);
+    
+    /**
+     * Users holding transactions in a currency other than their base currency, whose base
+     * amounts move when exchange rates change
+     */
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE t.currency <> t.user.baseCurrency")
+    List<Long> findUserIdsWithForeignCurrency();
+    
+    /**
+     * Interface for currency and date projection
+     */
+    interface CurrencyDate {
+        String getCurrency();
+        LocalDate getTransactionDate();
     }
     
     /**
-     * Find recent transactions for a user
+     * Reprice a user's transactions in one currency and date range with a single conversion factor
+     * Native so the factor keeps its full scale instead of taking the amount column's
+     */
+    @Modifying
+    @Query(value = "UPDATE transactions " +
+           "SET base_amount = ROUND(amount * CAST(:factor AS DECIMAL(21,10)), 2) " +
+           "WHERE user_id = :userId " +
+           "AND currency = :currency " +
+           "AND transaction_date BETWEEN :startDate AND :endDate",
+           nativeQuery = true)
+    int updateBaseAmounts(
+        @Param("userId") Long userId,
+        @Param("currency") String currency,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("factor") BigDecimal factor
+    );
+    
+    /**
+     * Price transactions written before currencies existed in the given currency, one to one
      */
-    List<Transaction> findTop10ByUserIdOrderByTransactionDateDescCreatedAtDesc(Long userId);
-}
\ No newline at end of file
+    @Modifying
+    @Query("UPDATE Transaction t " +
+           "SET t.currency = :currency, t.baseAmount = t.amount " +
+           "WHERE t.baseAmount IS NULL")
+    int backfillCurrency(@Param("currency") String currency);
+}
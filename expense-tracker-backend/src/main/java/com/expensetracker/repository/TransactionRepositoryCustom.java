@@ -0,0 +1,31 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.TransactionCursor;
+import com.expensetracker.dto.TransactionListItem;
+import com.expensetracker.entity.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Custom repository operations for Transaction that derived queries cannot express
+ */
+public interface TransactionRepositoryCustom {
+    
+    /**
+     * Find a page of matching transactions as slim list items
+     * Transaction and category columns are read in a single joined select
+     */
+    Page<TransactionListItem> findListItems(Specification<Transaction> specification, Pageable pageable);
+    
+    /**
+     * Find the next slice of matching transactions after a cursor, newest first
+     * Seeks on (transactionDate, id) instead of using OFFSET and never runs a count query
+     */
+    Slice<TransactionListItem> findSliceAfter(
+        Specification<Transaction> specification,
+        TransactionCursor cursor,
+        int size
+    );
+}
@@ -0,0 +1,131 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.TransactionCursor;
+import com.expensetracker.dto.TransactionListItem;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria-based implementation of the custom Transaction repository operations
+ */
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Page<TransactionListItem> findListItems(Specification<Transaction> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionListItem> query = cb.createQuery(TransactionListItem.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        
+        query.select(listItem(cb, transaction))
+            .where(specification.toPredicate(transaction, query, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), transaction, cb));
+        }
+        
+        TypedQuery<TransactionListItem> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        
+        // The count query only runs when the page size alone cannot tell the total
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable,
+            () -> count(specification));
+    }
+    
+    @Override
+    public Slice<TransactionListItem> findSliceAfter(
+            Specification<Transaction> specification,
+            TransactionCursor cursor,
+            int size) {
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionListItem> query = cb.createQuery(TransactionListItem.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        
+        Path<LocalDate> transactionDate = transaction.get("transactionDate");
+        Path<Long> id = transaction.get("id");
+        
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(specification.toPredicate(transaction, query, cb));
+        
+        // Seek past the last row of the previous slice
+        if (cursor != null) {
+            predicates.add(cb.or(
+                cb.lessThan(transactionDate, cursor.transactionDate()),
+                cb.and(
+                    cb.equal(transactionDate, cursor.transactionDate()),
+                    cb.lessThan(id, cursor.id())
+                )
+            ));
+        }
+        
+        query.select(listItem(cb, transaction))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(transactionDate), cb.desc(id));
+        
+        // Fetch one extra row to learn whether another slice exists
+        List<TransactionListItem> rows = entityManager.createQuery(query)
+            .setMaxResults(size + 1)
+            .getResultList();
+        
+        boolean hasNext = rows.size() > size;
+        List<TransactionListItem> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+    
+    /**
+     * Constructor expression selecting transaction columns plus the joined category columns
+     */
+    private CompoundSelection<TransactionListItem> listItem(
+            CriteriaBuilder cb, Root<Transaction> transaction) {
+        Join<Transaction, Category> category = transaction.join("category");
+        return cb.construct(TransactionListItem.class,
+            transaction.get("id"),
+            transaction.get("amount"),
+            transaction.get("currency"),
+            transaction.get("description"),
+            transaction.get("transactionDate"),
+            transaction.get("type"),
+            transaction.get("createdAt"),
+            transaction.get("updatedAt"),
+            category.get("id"),
+            category.get("name"),
+            category.get("color"),
+            category.get("icon"));
+    }
+    
+    private long count(Specification<Transaction> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        query.select(cb.count(transaction))
+            .where(specification.toPredicate(transaction, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
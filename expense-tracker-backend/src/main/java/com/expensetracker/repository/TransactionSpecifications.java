@@ -0,0 +1,68 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.entity.Transaction;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Composable query predicates for Transaction
+ * Builds a single where clause from any combination of TransactionFilter fields
+ */
+public final class TransactionSpecifications {
+    
+    private TransactionSpecifications() {
+    }
+    
+    /**
+     * Match a user's transactions against every non-empty field of the filter
+     */
+    public static Specification<Transaction> matching(Long userId, TransactionFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            
+            if (filter == null) {
+                return cb.and(predicates.toArray(new Predicate[0]));
+            }
+            
+            if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+                predicates.add(root.get("category").get("id").in(filter.getCategoryIds()));
+            }
+            if (filter.getType() != null) {
+                predicates.add(cb.equal(root.get("type"), filter.getType()));
+            }
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<LocalDate>get("transactionDate"), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<LocalDate>get("transactionDate"), filter.getEndDate()));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<BigDecimal>get("baseAmount"), filter.getMinAmount()));
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<BigDecimal>get("baseAmount"), filter.getMaxAmount()));
+            }
+            if (filter.getDescription() != null && !filter.getDescription().isBlank()) {
+                String pattern = "%" + escapeLike(filter.getDescription().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(cb.lower(root.get("description")), pattern, '\\'));
+            }
+            
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    /**
+     * Escape LIKE wildcards so user input is matched literally
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -2,6 +2,9 @@ package com.expensetracker.repository;
 
 import com.expensetracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -37,4 +40,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Find active user by username
      */
     Optional<User> findByUsernameAndActiveTrue(String username);
-}
\ No newline at end of file
+    
+    /**
+     * Find the base currency of a user without loading the entity
+     */
+    @Query("SELECT u.baseCurrency FROM User u WHERE u.id = :id")
+    Optional<String> findBaseCurrencyById(@Param("id") Long id);
+    
+    /**
+     * Give users created before currencies existed a base currency
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.baseCurrency = :currency WHERE u.baseCurrency IS NULL")
+    int backfillBaseCurrency(@Param("currency") String currency);
+}
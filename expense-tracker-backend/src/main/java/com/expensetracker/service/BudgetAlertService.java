@@ -0,0 +1,270 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.BudgetAlertItem;
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.BudgetAlert;
+import com.expensetracker.entity.BudgetAlert.AlertSeverity;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import com.expensetracker.event.BudgetAlertRaisedEvent;
+import com.expensetracker.event.BudgetChangedEvent;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.BudgetAlertRepository;
+import com.expensetracker.repository.BudgetAlertRepository.AlertWithCategory;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.BudgetRepository.BudgetWithSpent;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Event-driven budget alerting
+ *
+ * Committed transaction and budget writes are queued to a single background worker that
+ * re-evaluates only the affected budget and records threshold crossings in the budget_alerts
+ * table. The alerts endpoint reads that table instead of evaluating every budget per request.
+ * With app.alerts.async=false evaluation runs inline on the committing thread, which keeps
+ * tests deterministic without a broker.
+ */
+@Slf4j
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+public class BudgetAlertService {
+    
+    private final BudgetAlertRepository alertRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor executor;
+    
+    public BudgetAlertService(
+            BudgetAlertRepository alertRepository,
+            BudgetRepository budgetRepository,
+            TransactionRepository transactionRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.alerts.async:true}") boolean async,
+            @Value("${app.alerts.queue-capacity:10000}") int queueCapacity) {
+        this.alertRepository = alertRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        // Evaluations run after the triggering write committed, possibly on the committing thread
+        // (inline mode, or CallerRunsPolicy when the queue is full). Joining that finished
+        // transaction would silently drop the alert writes, so each evaluation gets its own.
+        // Being read-write, it also reads spending from the primary when a replica is configured.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        
+        if (async) {
+            // One worker: evaluations never race on the (budget, severity) unique key
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(1);
+            pool.setMaxPoolSize(1);
+            pool.setQueueCapacity(queueCapacity);
+            pool.setThreadNamePrefix("budget-alerts-");
+            pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.setWaitForTasksToCompleteOnShutdown(true);
+            pool.initialize();
+            Gauge.builder("budget.alerts.queue.depth", pool, p -> p.getThreadPoolExecutor().getQueue().size())
+                .description("Budget evaluations waiting for the alert worker")
+                .register(meterRegistry);
+            this.executor = pool;
+        } else {
+            this.executor = new SyncTaskExecutor();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+    
+    /**
+     * Get a user's alerts for a month, one per budget at its highest severity
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetAlertItem> getAlerts(Long userId, int month, int year) {
+        Map<Long, AlertWithCategory> highestByBudget = new LinkedHashMap<>();
+        for (AlertWithCategory row : alertRepository.findAlertsWithCategory(userId, year, month)) {
+            highestByBudget.merge(row.getAlert().getBudgetId(), row, (current, candidate) ->
+                candidate.getAlert().getSeverity().compareTo(current.getAlert().getSeverity()) > 0
+                    ? candidate : current);
+        }
+        
+        List<BudgetAlertItem> alerts = new ArrayList<>(highestByBudget.size());
+        for (AlertWithCategory row : highestByBudget.values()) {
+            BudgetAlert alert = row.getAlert();
+            alerts.add(toItem(alert, row.getCategoryName()));
+        }
+        return alerts;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.isBulk()) {
+            submit(() -> evaluateUser(event.userId()));
+            return;
+        }
+        
+        Set<String> seen = new HashSet<>();
+        for (TransactionSnapshot snapshot : new TransactionSnapshot[] {event.before(), event.after()}) {
+            if (snapshot != null && snapshot.type() == TransactionType.EXPENSE
+                    && seen.add(snapshot.categoryId() + ":" + snapshot.yearMonth())) {
+                submit(() -> evaluate(snapshot.userId(), snapshot.categoryId(), snapshot.yearMonth()));
+            }
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        submit(() -> evaluateBudget(event.budgetId()));
+    }
+    
+    /**
+     * Backfill alerts for the current month when the alerts table is empty (first deployment)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeAlerts() {
+        if (alertRepository.count() > 0) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (User user : userRepository.findAll()) {
+                for (BudgetWithSpent row : budgetRepository.findBudgetsWithSpent(
+                        user.getId(), current.getMonthValue(), current.getYear())) {
+                    apply(row.getBudget(), row.getSpent());
+                }
+            }
+        });
+        log.info("Budget alerts backfilled for {}", current);
+    }
+    
+    private void submit(Runnable evaluation) {
+        executor.execute(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> evaluation.run());
+            } catch (RuntimeException e) {
+                log.error("Budget alert evaluation failed", e);
+            }
+        });
+    }
+    
+    private void evaluate(Long userId, Long categoryId, YearMonth period) {
+        budgetRepository.findByUserIdAndCategoryIdAndMonthAndYear(
+                userId, categoryId, period.getMonthValue(), period.getYear())
+            .ifPresent(budget -> apply(budget, spentFor(budget)));
+    }
+    
+    private void evaluateBudget(Long budgetId) {
+        budgetRepository.findById(budgetId).ifPresentOrElse(
+            budget -> apply(budget, spentFor(budget)),
+            () -> alertRepository.deleteByBudgetId(budgetId));
+    }
+    
+    private void evaluateUser(Long userId) {
+        Set<YearMonth> periods = new HashSet<>();
+        for (Budget budget : budgetRepository.findByUserId(userId)) {
+            periods.add(YearMonth.of(budget.getYear(), budget.getMonth()));
+        }
+        for (YearMonth period : periods) {
+            for (BudgetWithSpent row : budgetRepository.findBudgetsWithSpent(
+                    userId, period.getMonthValue(), period.getYear())) {
+                apply(row.getBudget(), row.getSpent());
+            }
+        }
+    }
+    
+    private BigDecimal spentFor(Budget budget) {
+        return transactionRepository.calculateTotalByCategoryAndDateRange(
+            budget.getUser().getId(), budget.getCategory().getId(), TransactionType.EXPENSE,
+            budget.getStartDate(), budget.getEndDate());
+    }
+    
+    /**
+     * Bring the budget's alert rows in line with its current spending
+     */
+    private void apply(Budget budget, BigDecimal spent) {
+        BudgetStatus status = BudgetStatus.of(budget, spent);
+        Map<AlertSeverity, BudgetAlert> existing = new EnumMap<>(AlertSeverity.class);
+        for (BudgetAlert alert : alertRepository.findByBudgetId(budget.getId())) {
+            existing.put(alert.getSeverity(), alert);
+        }
+        
+        sync(status, AlertSeverity.MEDIUM, existing.get(AlertSeverity.MEDIUM), status.nearLimit());
+        sync(status, AlertSeverity.HIGH, existing.get(AlertSeverity.HIGH),
+            status.severity() == AlertSeverity.HIGH);
+    }
+    
+    private void sync(BudgetStatus status, AlertSeverity severity, BudgetAlert alert, boolean active) {
+        Budget budget = status.budget();
+        if (!active) {
+            if (alert != null) {
+                alertRepository.delete(alert);
+            }
+            return;
+        }
+        
+        boolean raised = alert == null;
+        if (raised) {
+            alert = new BudgetAlert();
+            alert.setBudgetId(budget.getId());
+            alert.setUserId(budget.getUser().getId());
+            alert.setCategoryId(budget.getCategory().getId());
+            alert.setYear(budget.getYear());
+            alert.setMonth(budget.getMonth());
+            alert.setSeverity(severity);
+            log.info("Budget {} crossed {} alert at {}%", budget.getId(), severity, status.percentage());
+        }
+        alert.setBudgetAmount(budget.getBaseAmount());
+        alert.setSpent(status.spent());
+        alert.setPercentage(status.percentage());
+        alertRepository.save(alert);
+        if (raised) {
+            eventPublisher.publishEvent(new BudgetAlertRaisedEvent(alert.getUserId(), alert.getBudgetId(),
+                toItem(alert, budget.getCategory().getName())));
+        }
+    }
+    
+    private static BudgetAlertItem toItem(BudgetAlert alert, String categoryName) {
+        return new BudgetAlertItem(categoryName, alert.getBudgetAmount(), alert.getSpent(), alert.getPercentage(),
+            String.format("You've spent %.0f%% of your %s budget", alert.getPercentage(), categoryName),
+            alert.getSeverity());
+    }
+}
@@ -1,40 +1,52 @@
 package com.expensetracker.service;
 
+import com.expensetracker.dto.BudgetAlertItem;
+import com.expensetracker.dto.BudgetCopyRequest;
+import com.expensetracker.dto.BudgetDTO;
 import com.expensetracker.entity.Budget;
 import com.expensetracker.entity.Category;
-import com.expensetracker.entity.Transaction.TransactionType;
 import com.expensetracker.entity.User;
+import com.expensetracker.event.BudgetChangedEvent;
 import com.expensetracker.repository.BudgetRepository;
-import com.expensetracker.repository.BudgetRepository.BudgetWithSpent;
-import com.expensetracker.repository.CategoryRepository;
-import com.expensetracker.repository.TransactionRepository;
 import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer for Budget-related business logic
  * Handles budget creation, tracking, and alerts
  */
 @Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 @Transactional
 public class BudgetService {
     
+    private static final int MAX_COPY_MONTHS = 120;
+    
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
-    private final TransactionRepository transactionRepository;
+    private final CategoryService categoryService;
+    private final BudgetStatusCache budgetStatusCache;
+    private final BudgetAlertService budgetAlertService;
+    private final ExchangeRates exchangeRates;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Create or update a budget
@@ -43,7 +55,7 @@ public class BudgetService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
         
-        Category category = categoryRepository.findById(categoryId)
+        Category category = categoryService.getCategoryById(categoryId)
             .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + categoryId));
         
         // Check if budget already exists for this user, category, and period
@@ -51,24 +63,122 @@ public class BudgetService {
             userId, categoryId, budget.getMonth(), budget.getYear()
         );
         
+        Budget savedBudget;
         if (existingBudget.isPresent()) {
             // Update existing budget
             Budget budgetToUpdate = existingBudget.get();
             budgetToUpdate.setAmount(budget.getAmount());
+            if (budget.getCurrency() != null) {
+                budgetToUpdate.setCurrency(budget.getCurrency());
+            }
             budgetToUpdate.setAlertThreshold(budget.getAlertThreshold());
             budgetToUpdate.setNotes(budget.getNotes());
-            return budgetRepository.save(budgetToUpdate);
+            exchangeRates.price(budgetToUpdate, user.getBaseCurrency());
+            savedBudget = budgetRepository.save(budgetToUpdate);
         } else {
             // Create new budget
             budget.setUser(user);
             budget.setCategory(category);
-            return budgetRepository.save(budget);
+            exchangeRates.price(budget, user.getBaseCurrency());
+            savedBudget = budgetRepository.save(budget);
+        }
+        
+        eventPublisher.publishEvent(new BudgetChangedEvent(
+            userId, savedBudget.getId(), savedBudget.getMonth(), savedBudget.getYear()));
+        return savedBudget;
+    }
+    
+    /**
+     * Create or update many budgets at once
+     * User and categories are resolved once and all entries are written with set-based MERGE statements.
+     * Later entries win when the same category and period appear more than once
+     */
+    public Map<String, Object> upsertBudgets(Long userId, List<BudgetDTO> entries) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        Map<Long, Category> categories = resolveCategories(entries);
+        
+        Map<String, Budget> budgets = new LinkedHashMap<>();
+        for (BudgetDTO entry : entries) {
+            Budget budget = new Budget();
+            budget.setUser(user);
+            budget.setCategory(categories.get(entry.getCategoryId()));
+            budget.setAmount(entry.getAmount());
+            budget.setCurrency(entry.getCurrency());
+            budget.setMonth(entry.getMonth());
+            budget.setYear(entry.getYear());
+            budget.setAlertThreshold(entry.getAlertThreshold());
+            budget.setNotes(entry.getNotes());
+            exchangeRates.price(budget, user.getBaseCurrency());
+            budgets.put(budgetKey(budget), budget);
+        }
+        
+        return writeBudgets(userId, budgets.values(), true);
+    }
+    
+    /**
+     * Copy a month's budgets to every month in an inclusive range
+     * Budgets already present in a target month are kept unless overwrite is set
+     */
+    public Map<String, Object> copyBudgets(Long userId, BudgetCopyRequest request) {
+        YearMonth source = YearMonth.of(request.getSourceYear(), request.getSourceMonth());
+        YearMonth first = YearMonth.of(request.getFromYear(), request.getFromMonth());
+        YearMonth last = YearMonth.of(request.getToYear(), request.getToMonth());
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("Target range must not end before it starts");
+        }
+        if (first.plusMonths(MAX_COPY_MONTHS - 1L).isBefore(last)) {
+            throw new IllegalArgumentException("At most " + MAX_COPY_MONTHS + " months can be copied per request");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        
+        List<Budget> templates = budgetRepository.findByUserIdAndMonthAndYear(
+            userId, source.getMonthValue(), source.getYear());
+        List<Budget> budgets = new ArrayList<>();
+        for (YearMonth target = first; !target.isAfter(last); target = target.plusMonths(1)) {
+            if (target.equals(source)) {
+                continue;
+            }
+            for (Budget template : templates) {
+                Budget budget = new Budget();
+                budget.setUser(template.getUser());
+                budget.setCategory(template.getCategory());
+                budget.setAmount(template.getAmount());
+                budget.setCurrency(template.getCurrency());
+                budget.setMonth(target.getMonthValue());
+                budget.setYear(target.getYear());
+                budget.setAlertThreshold(template.getAlertThreshold());
+                budget.setNotes(template.getNotes());
+                // Converted at the target month's rate, so base amounts follow the exchange rate
+                exchangeRates.price(budget, template.getUser().getBaseCurrency());
+                budgets.add(budget);
+            }
+        }
+        
+        return writeBudgets(userId, budgets, request.isOverwrite());
+    }
+    
+    /**
+     * Delete many of a user's budgets in a single statement
+     */
+    public void deleteBudgets(Long userId, List<Long> ids) {
+        List<Budget> budgets = budgetRepository.findByUserIdAndIdIn(userId, ids);
+        if (budgets.size() != new HashSet<>(ids).size()) {
+            throw new IllegalArgumentException("Budgets not found for user " + userId + ": " + ids);
+        }
+        budgetRepository.deleteAllInBatch(budgets);
+        for (Budget budget : budgets) {
+            eventPublisher.publishEvent(new BudgetChangedEvent(
+                userId, budget.getId(), budget.getMonth(), budget.getYear()));
         }
     }
     
     /**
      * Get budget by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Budget> getBudgetById(Long id) {
         return budgetRepository.findById(id);
     }
@@ -76,127 +186,98 @@ public class BudgetService {
     /**
      * Get all budgets for a user
      */
+    @Transactional(readOnly = true)
     public List<Budget> getUserBudgets(Long userId) {
         return budgetRepository.findByUserId(userId);
     }
     
     /**
      * Get budgets for a specific month with spending status
+     * Served from the budget status cache, which is kept current on writes
      */
-    public List<Map<String, Object>> getMonthlyBudgetsWithStatus(Long userId, int month, int year) {
-        List<BudgetWithSpent> budgetsWithSpent = budgetRepository.findBudgetsWithSpent(userId, month, year);
-        List<Map<String, Object>> results = new ArrayList<>();
-        
-        for (BudgetWithSpent bws : budgetsWithSpent) {
-            Map<String, Object> budgetStatus = new HashMap<>();
-            Budget budget = bws.getBudget();
-            BigDecimal spent = bws.getSpent();
-            BigDecimal percentage = BigDecimal.ZERO;
-            
-            if (budget.getAmount().compareTo(BigDecimal.ZERO) > 0) {
-                percentage = spent.multiply(BigDecimal.valueOf(100))
-                    .divide(budget.getAmount(), 2, RoundingMode.HALF_UP);
-            }
-            
-            budgetStatus.put("budget", budget);
-            budgetStatus.put("spent", spent);
-            budgetStatus.put("remaining", budget.getAmount().subtract(spent));
-            budgetStatus.put("percentage", percentage);
-            budgetStatus.put("isOverBudget", spent.compareTo(budget.getAmount()) > 0);
-            budgetStatus.put("isNearLimit", percentage.compareTo(BigDecimal.valueOf(budget.getAlertThreshold())) >= 0);
-            
-            results.add(budgetStatus);
-        }
-        
-        return results;
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BudgetStatus> getMonthlyBudgetsWithStatus(Long userId, int month, int year) {
+        return budgetStatusCache.get(userId, month, year);
     }
     
     /**
      * Get budget status for a specific category
      */
-    public Map<String, Object> getBudgetStatus(Long userId, Long categoryId, int month, int year) {
-        Optional<Budget> budgetOpt = budgetRepository.findByUserIdAndCategoryIdAndMonthAndYear(
-            userId, categoryId, month, year
-        );
-        
-        if (budgetOpt.isEmpty()) {
-            return null;
-        }
-        
-        Budget budget = budgetOpt.get();
-        LocalDate startDate = budget.getStartDate();
-        LocalDate endDate = budget.getEndDate();
-        
-        // Calculate spent amount
-        BigDecimal spent = transactionRepository.calculateTotalByCategoryAndDateRange(
-            userId, categoryId, TransactionType.EXPENSE, startDate, endDate
-        );
-        
-        BigDecimal percentage = BigDecimal.ZERO;
-        if (budget.getAmount().compareTo(BigDecimal.ZERO) > 0) {
-            percentage = spent.multiply(BigDecimal.valueOf(100))
-                .divide(budget.getAmount(), 2, RoundingMode.HALF_UP);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BudgetStatus getBudgetStatus(Long userId, Long categoryId, int month, int year) {
+        for (BudgetStatus status : budgetStatusCache.get(userId, month, year)) {
+            if (status.budget().getCategory().getId().equals(categoryId)) {
+                return status;
+            }
         }
-        
-        Map<String, Object> status = new HashMap<>();
-        status.put("budget", budget);
-        status.put("spent", spent);
-        status.put("remaining", budget.getAmount().subtract(spent));
-        status.put("percentage", percentage);
-        status.put("isOverBudget", spent.compareTo(budget.getAmount()) > 0);
-        status.put("isNearLimit", percentage.compareTo(BigDecimal.valueOf(budget.getAlertThreshold())) >= 0);
-        
-        return status;
+        return null;
     }
     
     /**
      * Delete budget
      */
     public void deleteBudget(Long id) {
-        if (!budgetRepository.existsById(id)) {
-            throw new IllegalArgumentException("Budget not found with id: " + id);
-        }
-        budgetRepository.deleteById(id);
+        Budget budget = budgetRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Budget not found with id: " + id));
+        budgetRepository.delete(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(
+            budget.getUser().getId(), id, budget.getMonth(), budget.getYear()));
     }
     
     /**
      * Get budget alerts for user
+     * Read from the budget_alerts table maintained by the alert pipeline
      */
-    public List<Map<String, Object>> getBudgetAlerts(Long userId) {
+    @Transactional(readOnly = true)
+    public List<BudgetAlertItem> getBudgetAlerts(Long userId) {
         LocalDate now = LocalDate.now();
-        List<Budget> budgets = budgetRepository.findByUserIdAndMonthAndYear(
-            userId, now.getMonthValue(), now.getYear()
-        );
-        
-        List<Map<String, Object>> alerts = new ArrayList<>();
+        return budgetAlertService.getAlerts(userId, now.getMonthValue(), now.getYear());
+    }
+    
+    private Map<Long, Category> resolveCategories(List<BudgetDTO> entries) {
+        Map<Long, Category> categories = new HashMap<>();
+        for (BudgetDTO entry : entries) {
+            categories.computeIfAbsent(entry.getCategoryId(), id -> categoryService.getCategoryById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + id)));
+        }
+        return categories;
+    }
+    
+    /**
+     * Upsert the budgets and publish a change for each budget in the affected months
+     */
+    private Map<String, Object> writeBudgets(Long userId, Collection<Budget> budgets, boolean overwrite) {
+        int written = budgets.isEmpty() ? 0 : budgetRepository.upsertAll(budgets, overwrite);
         
+        Set<String> keys = new HashSet<>();
+        int fromPeriod = Integer.MAX_VALUE;
+        int toPeriod = Integer.MIN_VALUE;
         for (Budget budget : budgets) {
-            BigDecimal spent = transactionRepository.calculateTotalByCategoryAndDateRange(
-                userId, budget.getCategory().getId(), TransactionType.EXPENSE,
-                budget.getStartDate(), budget.getEndDate()
-            );
-            
-            BigDecimal percentage = BigDecimal.ZERO;
-            if (budget.getAmount().compareTo(BigDecimal.ZERO) > 0) {
-                percentage = spent.multiply(BigDecimal.valueOf(100))
-                    .divide(budget.getAmount(), 2, RoundingMode.HALF_UP);
-            }
-            
-            // Check if alert should be triggered
-            if (percentage.compareTo(BigDecimal.valueOf(budget.getAlertThreshold())) >= 0) {
-                Map<String, Object> alert = new HashMap<>();
-                alert.put("category", budget.getCategory().getName());
-                alert.put("budgetAmount", budget.getAmount());
-                alert.put("spent", spent);
-                alert.put("percentage", percentage);
-                alert.put("message", String.format("You've spent %.0f%% of your %s budget", 
-                    percentage, budget.getCategory().getName()));
-                alert.put("severity", percentage.compareTo(BigDecimal.valueOf(100)) >= 0 ? "HIGH" : "MEDIUM");
-                
-                alerts.add(alert);
+            keys.add(budgetKey(budget));
+            int period = budget.getYear() * 100 + budget.getMonth();
+            fromPeriod = Math.min(fromPeriod, period);
+            toPeriod = Math.max(toPeriod, period);
+        }
+        
+        List<Long> budgetIds = new ArrayList<>();
+        if (!keys.isEmpty()) {
+            for (Budget budget : budgetRepository.findByUserIdAndPeriodBetween(userId, fromPeriod, toPeriod)) {
+                if (keys.contains(budgetKey(budget))) {
+                    budgetIds.add(budget.getId());
+                    eventPublisher.publishEvent(new BudgetChangedEvent(
+                        userId, budget.getId(), budget.getMonth(), budget.getYear()));
+                }
             }
         }
         
-        return alerts;
+        Map<String, Object> result = new HashMap<>();
+        result.put("requested", budgets.size());
+        result.put("written", written);
+        result.put("budgetIds", budgetIds);
+        return result;
+    }
+    
+    private static String budgetKey(Budget budget) {
+        return budget.getCategory().getId() + ":" + budget.getYear() + "-" + budget.getMonth();
     }
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.BudgetAlert.AlertSeverity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Spending status of one budget, computed once and shared by every reader
+ * Serialized as the response entry of the budget endpoints; spent, remaining and percentage are
+ * in the owner's base currency. Amounts are held as long cents and the percentage as hundredths
+ * of a percent, rounded HALF_UP like the BigDecimal arithmetic it replaces.
+ */
+@JsonSerialize(using = BudgetStatus.Writer.class)
+public record BudgetStatus(
+        Budget budget,
+        long amountCents,
+        long spentCents,
+        long percentageHundredths,
+        boolean overBudget,
+        boolean nearLimit,
+        AlertSeverity severity) {
+    
+    /**
+     * Compute the status of a budget for the given spent amount
+     */
+    public static BudgetStatus of(Budget budget, BigDecimal spent) {
+        return evaluate(budget, toCents(budget.getBaseAmount()), toCents(spent));
+    }
+    
+    /**
+     * Compute the status of a budget from amounts in cents
+     * MEDIUM once spending reaches the alert threshold, HIGH once it also reaches 100%
+     */
+    public static BudgetStatus evaluate(Budget budget, long amountCents, long spentCents) {
+        long percentage = percentageHundredths(spentCents, amountCents);
+        boolean nearLimit = percentage >= budget.getAlertThreshold() * 100L;
+        AlertSeverity severity = !nearLimit ? null
+            : percentage >= 100_00L ? AlertSeverity.HIGH : AlertSeverity.MEDIUM;
+        return new BudgetStatus(budget, amountCents, spentCents, percentage,
+            spentCents > amountCents, nearLimit, severity);
+    }
+    
+    /**
+     * Percentage of the amount spent in hundredths of a percent, rounded HALF_UP (0 for non-positive amounts)
+     */
+    public static long percentageHundredths(long spentCents, long amountCents) {
+        if (amountCents <= 0) {
+            return 0;
+        }
+        long scaled = Math.abs(spentCents) * 10_000L;
+        long rounded = (scaled / amountCents) + (2 * (scaled % amountCents) >= amountCents ? 1 : 0);
+        return spentCents < 0 ? -rounded : rounded;
+    }
+    
+    /**
+     * Amount in cents, rounded HALF_UP to the amount columns' scale
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+    
+    /**
+     * Status after spending changed by delta
+     */
+    public BudgetStatus plus(BigDecimal delta) {
+        return evaluate(budget, amountCents, spentCents + toCents(delta));
+    }
+    
+    public long remainingCents() {
+        return amountCents - spentCents;
+    }
+    
+    public BigDecimal spent() {
+        return BigDecimal.valueOf(spentCents, 2);
+    }
+    
+    public BigDecimal remaining() {
+        return BigDecimal.valueOf(remainingCents(), 2);
+    }
+    
+    public BigDecimal percentage() {
+        return BigDecimal.valueOf(percentageHundredths, 2);
+    }
+    
+    /**
+     * Pre-built writer for the response entry (budget, spent, remaining, percentage, isOverBudget,
+     * isNearLimit, severity). Amounts are written from the long fields with two decimals, exactly
+     * as the equivalent BigDecimal would be, without boxing or creating a BigDecimal or String
+     */
+    static final class Writer extends StdSerializer<BudgetStatus> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[24]);
+        
+        Writer() {
+            super(BudgetStatus.class);
+        }
+        
+        @Override
+        public void serialize(BudgetStatus status, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(status);
+            provider.defaultSerializeField("budget", status.budget(), generator);
+            writeHundredths(generator, "spent", status.spentCents());
+            writeHundredths(generator, "remaining", status.remainingCents());
+            writeHundredths(generator, "percentage", status.percentageHundredths());
+            generator.writeBooleanField("isOverBudget", status.overBudget());
+            generator.writeBooleanField("isNearLimit", status.nearLimit());
+            generator.writeFieldName("severity");
+            if (status.severity() != null) {
+                generator.writeString(status.severity().name());
+            } else {
+                generator.writeNull();
+            }
+            generator.writeEndObject();
+        }
+        
+        private static void writeHundredths(JsonGenerator generator, String name, long value) throws IOException {
+            char[] buffer = BUFFER.get();
+            int position = buffer.length;
+            // Digits from the right with a sign-safe remainder, so Long.MIN_VALUE works too
+            long remaining = value;
+            for (int digit = 0; digit < 3 || remaining != 0; digit++) {
+                if (digit == 2) {
+                    buffer[--position] = '.';
+                }
+                buffer[--position] = (char) ('0' + Math.abs(remaining % 10));
+                remaining /= 10;
+            }
+            if (value < 0) {
+                buffer[--position] = '-';
+            }
+            generator.writeFieldName(name);
+            generator.writeNumber(buffer, position, buffer.length - position);
+        }
+    }
+}
\ No newline at end of file
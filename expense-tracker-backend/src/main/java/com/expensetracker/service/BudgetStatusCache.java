@@ -0,0 +1,267 @@
+package com.expensetracker.service;
+
+import com.expensetracker.config.ReplicaRoutingDataSource;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.event.BudgetChangedEvent;
+import com.expensetracker.event.CategoryChangedEvent;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.event.UserChangedEvent;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.BudgetRepository.BudgetWithSpent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of budget statuses per user and month
+ * 
+ * Entries are loaded with one grouped query and then kept current incrementally: committed
+ * EXPENSE writes shift the spent amount of the matching budget, while budget, category, user
+ * and bulk transaction writes evict the affected entries.
+ * 
+ * A load is only cached if no write for that user (or any category write) was in flight or
+ * completed while it ran. Otherwise the loaded value may or may not contain that write, and a
+ * later delta could be applied twice. Writes are tracked in a fixed set of stripes keyed by user
+ * id, so tracking memory stays bounded; users sharing a stripe only cost each other the odd
+ * uncached load. A scheduled check compares cached entries against the database and replaces
+ * any that drifted.
+ */
+@Slf4j
+@Component
+public class BudgetStatusCache {
+    
+    private static final int WRITE_STRIPES = 1024;
+    
+    private final BudgetRepository budgetRepository;
+    private final Cache<Key, List<BudgetStatus>> cache;
+    private final WriteTracker[] userWrites = new WriteTracker[WRITE_STRIPES];
+    private final WriteTracker categoryWrites = new WriteTracker();
+    private final Counter driftCounter;
+    
+    public BudgetStatusCache(
+            BudgetRepository budgetRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.budget-status.cache-spec:maximumSize=10000,expireAfterAccess=30m}") String cacheSpec) {
+        this.budgetRepository = budgetRepository;
+        this.cache = Caffeine.from(cacheSpec).recordStats().build();
+        for (int i = 0; i < WRITE_STRIPES; i++) {
+            userWrites[i] = new WriteTracker();
+        }
+        this.driftCounter = Counter.builder("budget.status.cache.drift")
+            .description("Cached budget status entries found out of date by the consistency check")
+            .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "budgetStatus");
+    }
+    
+    /**
+     * Get budget statuses for a user and month, loading them on a miss
+     */
+    public List<BudgetStatus> get(Long userId, int month, int year) {
+        Key key = new Key(userId, YearMonth.of(year, month));
+        List<BudgetStatus> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long[] stamp = stamp(userId);
+        List<BudgetStatus> loaded = load(key);
+        cache.asMap().compute(key, (k, existing) ->
+            existing != null ? existing : (unchangedSince(userId, stamp) ? loaded : null));
+        return loaded;
+    }
+    
+    /**
+     * Compare every cached entry against the database and replace entries that drifted
+     */
+    @Scheduled(fixedDelayString = "${app.budget-status.verify-interval-ms:600000}",
+               initialDelayString = "${app.budget-status.verify-interval-ms:600000}")
+    public int verify() {
+        int drifted = 0;
+        for (Key key : new ArrayList<>(cache.asMap().keySet())) {
+            long[] stamp = stamp(key.userId());
+            List<BudgetStatus> expected = load(key);
+            boolean[] replaced = new boolean[1];
+            cache.asMap().computeIfPresent(key, (k, cached) -> {
+                if (!unchangedSince(key.userId(), stamp) || matches(cached, expected)) {
+                    return cached;
+                }
+                replaced[0] = true;
+                return expected;
+            });
+            if (replaced[0]) {
+                drifted++;
+                log.warn("Budget status cache drifted for user {} in {}, entry replaced", key.userId(), key.month());
+            }
+        }
+        driftCounter.increment(drifted);
+        return drifted;
+    }
+    
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        onWrite(userWrites(event.userId()), () -> {
+            if (event.isBulk()) {
+                evictUser(event.userId());
+                return;
+            }
+            if (event.before() != null) {
+                applyDelta(event.before(), event.before().baseAmount().negate());
+            }
+            if (event.after() != null) {
+                applyDelta(event.after(), event.after().baseAmount());
+            }
+        });
+    }
+    
+    @EventListener
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        onWrite(userWrites(event.userId()), () ->
+            cache.invalidate(new Key(event.userId(), YearMonth.of(event.year(), event.month()))));
+    }
+    
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        onWrite(userWrites(event.userId()), () -> evictUser(event.userId()));
+    }
+    
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        onWrite(categoryWrites, cache::invalidateAll);
+    }
+    
+    /**
+     * Read an entry from the primary: a lagging replica could miss a committed write whose delta
+     * found nothing to update, and verify would then replace correct entries with stale ones
+     */
+    private List<BudgetStatus> load(Key key) {
+        List<BudgetWithSpent> rows = ReplicaRoutingDataSource.onPrimary(() -> budgetRepository.findBudgetsWithSpent(
+            key.userId(), key.month().getMonthValue(), key.month().getYear()));
+        List<BudgetStatus> statuses = new ArrayList<>(rows.size());
+        for (BudgetWithSpent row : rows) {
+            statuses.add(BudgetStatus.of(row.getBudget(), row.getSpent()));
+        }
+        return List.copyOf(statuses);
+    }
+    
+    private void applyDelta(TransactionSnapshot snapshot, BigDecimal delta) {
+        if (snapshot.type() != TransactionType.EXPENSE) {
+            return;
+        }
+        cache.asMap().computeIfPresent(new Key(snapshot.userId(), snapshot.yearMonth()), (key, statuses) -> {
+            List<BudgetStatus> updated = new ArrayList<>(statuses.size());
+            for (BudgetStatus status : statuses) {
+                updated.add(status.budget().getCategory().getId().equals(snapshot.categoryId())
+                    ? status.plus(delta) : status);
+            }
+            return List.copyOf(updated);
+        });
+    }
+    
+    private void evictUser(Long userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+    
+    private boolean matches(List<BudgetStatus> cached, List<BudgetStatus> expected) {
+        if (cached.size() != expected.size()) {
+            return false;
+        }
+        Map<Long, BudgetStatus> expectedById = new HashMap<>();
+        for (BudgetStatus status : expected) {
+            expectedById.put(status.budget().getId(), status);
+        }
+        for (BudgetStatus status : cached) {
+            BudgetStatus current = expectedById.get(status.budget().getId());
+            if (current == null
+                    || current.spentCents() != status.spentCents()
+                    || current.amountCents() != status.amountCents()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Track the write as in flight until its transaction completes, and run the cache
+     * update once it has committed
+     */
+    private void onWrite(WriteTracker tracker, Runnable afterCommit) {
+        tracker.inFlight.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                afterCommit.run();
+            } finally {
+                tracker.complete();
+            }
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                afterCommit.run();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                tracker.complete();
+            }
+        });
+    }
+    
+    private WriteTracker userWrites(Long userId) {
+        return userWrites[Math.floorMod(Long.hashCode(userId), WRITE_STRIPES)];
+    }
+    
+    private long[] stamp(Long userId) {
+        return new long[] {userWrites(userId).stamp(), categoryWrites.stamp()};
+    }
+    
+    private boolean unchangedSince(Long userId, long[] stamp) {
+        return userWrites(userId).unchangedSince(stamp[0]) && categoryWrites.unchangedSince(stamp[1]);
+    }
+    
+    private record Key(Long userId, YearMonth month) {
+    }
+    
+    /**
+     * Counts writes that are in flight and writes that have completed
+     */
+    private static final class WriteTracker {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        
+        /**
+         * Completed-write count if nothing is in flight, otherwise -1
+         */
+        long stamp() {
+            return inFlight.get() == 0 ? completed.get() : -1;
+        }
+        
+        boolean unchangedSince(long stamp) {
+            return stamp >= 0 && inFlight.get() == 0 && completed.get() == stamp;
+        }
+        
+        void complete() {
+            completed.incrementAndGet();
+            inFlight.decrementAndGet();
+        }
+    }
+}
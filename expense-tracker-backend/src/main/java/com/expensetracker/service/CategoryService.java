@@ -1,9 +1,15 @@
 package com.expensetracker.service;
 
+import com.expensetracker.config.CacheConfig;
 import com.expensetracker.entity.Category;
+import com.expensetracker.event.CategoryChangedEvent;
 import com.expensetracker.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,13 +20,16 @@ import java.util.Optional;
 /**
  * Service layer for Category-related business logic
  * Handles category management and initialization
+ * Reads are served from an in-process cache that every write invalidates
  */
 @Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 @Transactional
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Initialize default system categories on startup
@@ -63,18 +72,23 @@ public class CategoryService {
     /**
      * Create a new custom category
      */
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY_BY_ID, CacheConfig.CATEGORY_BY_NAME},
+                allEntries = true)
     public Category createCategory(Category category) {
         if (categoryRepository.existsByName(category.getName())) {
             throw new IllegalArgumentException("Category with name '" + category.getName() + "' already exists");
         }
         
         category.setSystem(false); // User-created categories are not system categories
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
+        return savedCategory;
     }
     
     /**
      * Get all categories
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
     public List<Category> getAllCategories() {
         return categoryRepository.findAllByOrderByNameAsc();
     }
@@ -82,6 +96,7 @@ public class CategoryService {
     /**
      * Get category by ID
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_BY_ID, unless = "#result == null")
     public Optional<Category> getCategoryById(Long id) {
         return categoryRepository.findById(id);
     }
@@ -89,6 +104,7 @@ public class CategoryService {
     /**
      * Get category by name
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_BY_NAME, unless = "#result == null")
     public Optional<Category> getCategoryByName(String name) {
         return categoryRepository.findByName(name);
     }
@@ -96,6 +112,7 @@ public class CategoryService {
     /**
      * Get system categories
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'system'")
     public List<Category> getSystemCategories() {
         return categoryRepository.findByIsSystemTrue();
     }
@@ -103,6 +120,7 @@ public class CategoryService {
     /**
      * Get user-created categories
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'custom'")
     public List<Category> getUserCategories() {
         return categoryRepository.findByIsSystemFalse();
     }
@@ -110,6 +128,8 @@ public class CategoryService {
     /**
      * Update category
      */
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY_BY_ID, CacheConfig.CATEGORY_BY_NAME},
+                allEntries = true)
     public Category updateCategory(Long id, Category categoryDetails) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + id));
@@ -124,12 +144,16 @@ public class CategoryService {
         category.setIcon(categoryDetails.getIcon());
         category.setColor(categoryDetails.getColor());
         
-        return categoryRepository.save(category);
+        Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        return updatedCategory;
     }
     
     /**
      * Delete category
      */
+    @CacheEvict(cacheNames = {CacheConfig.CATEGORIES, CacheConfig.CATEGORY_BY_ID, CacheConfig.CATEGORY_BY_NAME},
+                allEntries = true)
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + id));
@@ -145,5 +169,6 @@ public class CategoryService {
         }
         
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
\ No newline at end of file
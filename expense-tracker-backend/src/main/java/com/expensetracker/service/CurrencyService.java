@@ -0,0 +1,239 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.FxRate;
+import com.expensetracker.entity.User;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.FxRateRepository;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.TransactionRepository.CurrencyDate;
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service layer for currencies
+ * 
+ * Loads the local FX rate file into the fx_rates table and the in-memory ExchangeRates snapshot,
+ * and reprices stored amounts when a user's base currency changes. Amounts are converted once
+ * when written (see ExchangeRates.price), so rollups and aggregate queries only ever sum base
+ * amounts.
+ */
+@Slf4j
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+@Transactional
+public class CurrencyService {
+    
+    private final ExchangeRates exchangeRates;
+    private final FxRateRepository fxRateRepository;
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final ResourceLoader resourceLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${app.fx.rates-location:classpath:fx-rates.csv}")
+    private String ratesLocation;
+    
+    /**
+     * Price rows written before currencies existed, then load rates
+     * Runs ahead of the other startup backfills, which aggregate base amounts. Each step has its
+     * own transaction and a failing step is logged rather than stopping startup, so a schema
+     * problem leaves the API up; both steps are idempotent and run again on the next boot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initialize() {
+        String currency = exchangeRates.referenceCurrency();
+        startupStep("price rows written before currencies existed", () -> {
+            int users = userRepository.backfillBaseCurrency(currency);
+            int transactions = transactionRepository.backfillCurrency(currency);
+            int budgets = budgetRepository.backfillCurrency(currency);
+            if (users + transactions + budgets > 0) {
+                log.info("Priced {} users, {} transactions and {} budgets in {}", users, transactions, budgets, currency);
+            }
+        });
+        startupStep("load exchange rates", this::reloadRates);
+    }
+    
+    /**
+     * Merge the rate file into the fx_rates table and refresh the in-memory rates from the table
+     * Rows already stored are updated in place; rows missing from the file are kept. When any
+     * rate changed, users holding amounts in other currencies are repriced at the new rates.
+     */
+    public Map<String, Object> reloadRates() {
+        Map<String, FxRate> stored = new HashMap<>();
+        for (FxRate rate : fxRateRepository.findAll()) {
+            stored.put(rate.getCurrency() + ":" + rate.getRateDate(), rate);
+        }
+        
+        int inserted = 0;
+        int updated = 0;
+        for (FxRate rate : readRateFile()) {
+            FxRate existing = stored.get(rate.getCurrency() + ":" + rate.getRateDate());
+            if (existing == null) {
+                fxRateRepository.save(rate);
+                inserted++;
+            } else if (existing.getRate().compareTo(rate.getRate()) != 0) {
+                existing.setRate(rate.getRate());
+                updated++;
+            }
+        }
+        
+        List<FxRate> rates = fxRateRepository.findAll();
+        exchangeRates.replace(rates);
+        log.info("Loaded {} exchange rates ({} new, {} changed)", rates.size(), inserted, updated);
+        
+        int repriced = 0;
+        if (inserted + updated > 0) {
+            Set<Long> userIds = new TreeSet<>(transactionRepository.findUserIdsWithForeignCurrency());
+            userIds.addAll(budgetRepository.findUserIdsWithForeignCurrency());
+            for (User user : userRepository.findAllById(userIds)) {
+                repriceUser(user.getId(), user.getBaseCurrency());
+                repriced++;
+            }
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("rates", rates.size());
+        result.put("inserted", inserted);
+        result.put("updated", updated);
+        result.put("usersRepriced", repriced);
+        result.put("currencies", exchangeRates.currencies());
+        return result;
+    }
+    
+    /**
+     * Switch a user's base currency and reprice their transactions, budgets and rollups
+     */
+    public void changeBaseCurrency(User user, String baseCurrency) {
+        String target = exchangeRates.normalize(baseCurrency);
+        if (target.equals(user.getBaseCurrency())) {
+            return;
+        }
+        repriceUser(user.getId(), target);
+        user.setBaseCurrency(target);
+    }
+    
+    /**
+     * Reprice a user's transactions, budgets and rollups in a base currency at the current rates
+     * Transactions are repriced with one UPDATE per run of dates sharing a conversion factor
+     */
+    private void repriceUser(Long userId, String target) {
+        // Pairs arrive sorted by currency and date, so equal factors form contiguous runs
+        int statements = 0;
+        List<CurrencyDate> pairs = transactionRepository.findCurrencyDates(userId);
+        int runStart = 0;
+        BigDecimal runFactor = null;
+        for (int i = 0; i < pairs.size(); i++) {
+            CurrencyDate pair = pairs.get(i);
+            BigDecimal factor = exchangeRates.factor(pair.getCurrency(), target, pair.getTransactionDate());
+            if (runFactor != null && (factor.compareTo(runFactor) != 0
+                    || !pair.getCurrency().equals(pairs.get(runStart).getCurrency()))) {
+                reprice(userId, pairs.get(runStart), pairs.get(i - 1), runFactor);
+                statements++;
+                runStart = i;
+            }
+            if (runStart == i) {
+                runFactor = factor;
+            }
+        }
+        if (!pairs.isEmpty()) {
+            reprice(userId, pairs.get(runStart), pairs.get(pairs.size() - 1), runFactor);
+            statements++;
+        }
+        
+        for (Budget budget : budgetRepository.findByUserId(userId)) {
+            exchangeRates.price(budget, target);
+        }
+        rollupService.rebuild(userId);
+        eventPublisher.publishEvent(TransactionChangedEvent.bulk(userId));
+        log.info("Repriced user {} in {} with {} update statements", userId, target, statements);
+    }
+    
+    private void reprice(Long userId, CurrencyDate first, CurrencyDate last, BigDecimal factor) {
+        transactionRepository.updateBaseAmounts(userId, first.getCurrency(),
+            first.getTransactionDate(), last.getTransactionDate(), factor);
+    }
+    
+    private void startupStep(String description, Runnable step) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> step.run());
+        } catch (DataAccessException e) {
+            log.error("Could not {} on startup", description, e);
+        }
+    }
+    
+    private List<FxRate> readRateFile() {
+        Resource resource = resourceLoader.getResource(ratesLocation);
+        if (!resource.exists()) {
+            log.warn("Exchange rate file {} not found, using stored rates only", ratesLocation);
+            return List.of();
+        }
+        
+        List<FxRate> rates = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int row = 0;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.toLowerCase(Locale.ROOT).startsWith("currency,")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException(ratesLocation + " row " + row + ": expected currency,date,rate");
+                }
+                String currency = fields[0].trim().toUpperCase(Locale.ROOT);
+                BigDecimal rate = new BigDecimal(fields[2].trim());
+                if (!currency.matches("[A-Z]{3}") || rate.signum() <= 0) {
+                    throw new IllegalArgumentException(ratesLocation + " row " + row + ": invalid rate " + line);
+                }
+                if (currency.equals(exchangeRates.referenceCurrency())) {
+                    continue;
+                }
+                rates.add(new FxRate(null, currency, LocalDate.parse(fields[1].trim()), rate));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read exchange rate file " + ratesLocation, e);
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,95 @@
+package com.expensetracker.service;
+
+import com.expensetracker.event.BudgetChangedEvent;
+import com.expensetracker.event.CategoryChangedEvent;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.event.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory version counters for each user's data and for the shared category list
+ * 
+ * Counters are bumped only after the writing transaction commits, so a version is never
+ * paired with data that was not yet visible. They drive the ETags of the read endpoints
+ * and are checked without touching the database. The instance id makes ETags issued
+ * before a restart stale (versions are not shared between instances).
+ * 
+ * User versions live in a fixed set of stripes keyed by user id, so conditional GETs for any
+ * number of (even nonexistent) users cannot grow memory. A stripe is never reset, so an old
+ * ETag cannot match again; users sharing a stripe only cost each other the odd full 200.
+ */
+@Component
+public class DataVersionTracker {
+    
+    private static final int USER_STRIPES = 1024;
+    
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong categoryVersion = new AtomicLong();
+    private final AtomicLongArray userVersions = new AtomicLongArray(USER_STRIPES);
+    
+    /**
+     * ETag for data derived from a user's transactions, budgets and the categories they reference
+     */
+    public String userETag(Long userId) {
+        return "\"u" + userId + "-" + instanceId + "-" + generation.get() + "-"
+            + userVersions.get(stripe(userId)) + "-" + categoryVersion.get() + "\"";
+    }
+    
+    /**
+     * ETag for the shared category list
+     */
+    public String categoryETag() {
+        return "\"c-" + instanceId + "-" + generation.get() + "-" + categoryVersion.get() + "\"";
+    }
+    
+    /**
+     * Invalidate every issued ETag once the current transaction (if any) commits
+     */
+    public void invalidateAll() {
+        afterCommit(generation::incrementAndGet);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        userVersions.incrementAndGet(stripe(event.userId()));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        userVersions.incrementAndGet(stripe(event.userId()));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        userVersions.incrementAndGet(stripe(event.userId()));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryVersion.incrementAndGet();
+    }
+    
+    private static int stripe(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), USER_STRIPES);
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.TransactionFilter;
+
+import java.util.List;
+
+/**
+ * Text index over transaction descriptions
+ * Selected with app.search.engine: postgres (trigram index in the database) or lucene (embedded, in memory)
+ */
+public interface DescriptionSearchIndex {
+    
+    /**
+     * Find a user's transactions whose description matches every word of the query, best match first
+     * Words match by prefix (and by edit distance when fuzzy is set). Every filter field except
+     * description is applied inside the index
+     */
+    List<Long> search(Long userId, String query, boolean fuzzy, TransactionFilter filter, int limit);
+}
@@ -0,0 +1,132 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.FxRate;
+import com.expensetracker.entity.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory snapshot of the fx_rates table, indexed by currency and date
+ * 
+ * Each rate is quoted against the reference currency and applies from its date until the
+ * currency's next rate, so a lookup is a floor search in a sorted map and never touches the
+ * database. The snapshot is replaced as a whole when rates are reloaded.
+ */
+@Component
+public class ExchangeRates {
+    
+    /**
+     * Decimal places kept in a cross rate, well beyond what a two-decimal amount needs
+     */
+    private static final int FACTOR_SCALE = 10;
+    
+    private final String referenceCurrency;
+    private volatile Map<String, NavigableMap<LocalDate, BigDecimal>> rates = Map.of();
+    
+    public ExchangeRates(@Value("${app.fx.reference-currency:USD}") String referenceCurrency) {
+        this.referenceCurrency = referenceCurrency.trim().toUpperCase(Locale.ROOT);
+    }
+    
+    /**
+     * Currency every rate is quoted against, also the base currency of new users
+     */
+    public String referenceCurrency() {
+        return referenceCurrency;
+    }
+    
+    /**
+     * Codes that amounts can be converted between
+     */
+    public Set<String> currencies() {
+        Set<String> currencies = new TreeSet<>(rates.keySet());
+        currencies.add(referenceCurrency);
+        return currencies;
+    }
+    
+    /**
+     * Upper-case a currency code and check that rates exist for it
+     */
+    public String normalize(String code) {
+        String normalized = code.trim().toUpperCase(Locale.ROOT);
+        if (!normalized.equals(referenceCurrency) && !rates.containsKey(normalized)) {
+            throw new IllegalArgumentException("Unsupported currency: " + code);
+        }
+        return normalized;
+    }
+    
+    /**
+     * Factor converting an amount from one currency to another on a date
+     */
+    public BigDecimal factor(String from, String to, LocalDate date) {
+        if (from.equals(to)) {
+            return BigDecimal.ONE;
+        }
+        return rate(to, date).divide(rate(from, date), FACTOR_SCALE, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Convert an amount between currencies at the rates in effect on a date
+     * Rounds exactly like the repricing UPDATE statements so both paths agree to the cent
+     */
+    public BigDecimal convert(BigDecimal amount, String from, String to, LocalDate date) {
+        return amount.multiply(factor(from, to, date)).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Set a transaction's currency (the base currency when absent) and its converted base amount
+     */
+    public void price(Transaction transaction, String baseCurrency) {
+        transaction.setCurrency(normalize(
+            transaction.getCurrency() != null ? transaction.getCurrency() : baseCurrency));
+        transaction.setBaseAmount(convert(transaction.getAmount(), transaction.getCurrency(),
+            baseCurrency, transaction.getTransactionDate()));
+    }
+    
+    /**
+     * Set a budget's currency (the base currency when absent) and its converted base amount
+     */
+    public void price(Budget budget, String baseCurrency) {
+        budget.setCurrency(normalize(budget.getCurrency() != null ? budget.getCurrency() : baseCurrency));
+        budget.setBaseAmount(convert(budget.getAmount(), budget.getCurrency(),
+            baseCurrency, budget.getStartDate()));
+    }
+    
+    /**
+     * Replace the snapshot with the given rate rows
+     */
+    void replace(Collection<FxRate> rows) {
+        Map<String, NavigableMap<LocalDate, BigDecimal>> snapshot = new HashMap<>();
+        for (FxRate row : rows) {
+            snapshot.computeIfAbsent(row.getCurrency(), currency -> new TreeMap<>())
+                .put(row.getRateDate(), row.getRate());
+        }
+        snapshot.replaceAll((currency, history) -> Collections.unmodifiableNavigableMap(history));
+        rates = Map.copyOf(snapshot);
+    }
+    
+    private BigDecimal rate(String currency, LocalDate date) {
+        if (currency.equals(referenceCurrency)) {
+            return BigDecimal.ONE;
+        }
+        NavigableMap<LocalDate, BigDecimal> history = rates.get(currency);
+        Map.Entry<LocalDate, BigDecimal> rate = history != null ? history.floorEntry(date) : null;
+        if (rate == null) {
+            throw new IllegalArgumentException("No " + currency + " exchange rate on or before " + date);
+        }
+        return rate.getValue();
+    }
+}
@@ -0,0 +1,264 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.SearchDocument;
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over transaction descriptions, for databases without a text index (H2)
+ *
+ * Built from the database on startup and kept current from committed transaction changes.
+ * The index lives in memory on each instance, so multi-instance deployments should use the
+ * postgres engine, which the database maintains itself.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "lucene", matchIfMissing = true)
+public class LuceneDescriptionSearchIndex implements DescriptionSearchIndex {
+    
+    private static final String ID = "id";
+    private static final String USER_ID = "userId";
+    private static final String CATEGORY_ID = "categoryId";
+    private static final String TYPE = "type";
+    private static final String DATE = "date";
+    private static final String AMOUNT_CENTS = "amountCents";
+    private static final String DESCRIPTION = "description";
+    
+    private static final int MAX_QUERY_TERMS = 8;
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    
+    public LuceneDescriptionSearchIndex(TransactionRepository transactionRepository,
+                                        TransactionTemplate transactionTemplate) throws IOException {
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+    
+    /**
+     * Index every described transaction once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<SearchDocument> documents = transactionRepository.streamSearchDocuments()) {
+                writer.deleteAll();
+                documents.forEach(this::index);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        refresh();
+        log.info("Description search index built with {} documents in {} ms",
+            writer.getDocStats().numDocs, System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        try {
+            if (event.isBulk()) {
+                writer.deleteDocuments(LongPoint.newExactQuery(USER_ID, event.userId()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<SearchDocument> documents =
+                             transactionRepository.streamSearchDocumentsByUserId(event.userId())) {
+                        documents.forEach(this::index);
+                    }
+                });
+            } else {
+                Term id = new Term(ID, event.transactionId().toString());
+                transactionRepository.findSearchDocument(event.transactionId())
+                    .filter(document -> document.description() != null)
+                    .ifPresentOrElse(
+                        document -> update(id, document),
+                        () -> delete(id));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        refresh();
+    }
+    
+    @Override
+    public List<Long> search(Long userId, String query, boolean fuzzy, TransactionFilter filter, int limit) {
+        List<String> terms = analyze(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+            .add(LongPoint.newExactQuery(USER_ID, userId), Occur.FILTER);
+        addFilters(builder, filter);
+        for (String term : terms) {
+            builder.add(termQuery(term, fuzzy), Occur.MUST);
+        }
+        
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (ScoreDoc hit : searcher.search(builder.build(), limit).scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Exact words rank above prefixes, which rank above misspellings
+     */
+    private Query termQuery(String term, boolean fuzzy) {
+        Term descriptionTerm = new Term(DESCRIPTION, term);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+            .add(new BoostQuery(new TermQuery(descriptionTerm), 3f), Occur.SHOULD)
+            .add(new BoostQuery(new PrefixQuery(descriptionTerm), 2f), Occur.SHOULD);
+        if (fuzzy && term.length() >= 3) {
+            builder.add(new FuzzyQuery(descriptionTerm, term.length() > 5 ? 2 : 1), Occur.SHOULD);
+        }
+        return builder.build();
+    }
+    
+    private void addFilters(BooleanQuery.Builder builder, TransactionFilter filter) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+            builder.add(LongPoint.newSetQuery(CATEGORY_ID, filter.getCategoryIds()), Occur.FILTER);
+        }
+        if (filter.getType() != null) {
+            builder.add(new TermQuery(new Term(TYPE, filter.getType().name())), Occur.FILTER);
+        }
+        if (filter.getStartDate() != null || filter.getEndDate() != null) {
+            long from = filter.getStartDate() != null ? filter.getStartDate().toEpochDay() : Long.MIN_VALUE;
+            long to = filter.getEndDate() != null ? filter.getEndDate().toEpochDay() : Long.MAX_VALUE;
+            builder.add(LongPoint.newRangeQuery(DATE, from, to), Occur.FILTER);
+        }
+        if (filter.getMinAmount() != null || filter.getMaxAmount() != null) {
+            long from = filter.getMinAmount() != null ? cents(filter.getMinAmount(), RoundingMode.CEILING) : Long.MIN_VALUE;
+            long to = filter.getMaxAmount() != null ? cents(filter.getMaxAmount(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+            builder.add(LongPoint.newRangeQuery(AMOUNT_CENTS, from, to), Occur.FILTER);
+        }
+    }
+    
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(DESCRIPTION, text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+    
+    private void index(SearchDocument document) {
+        try {
+            writer.addDocument(toDocument(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void update(Term id, SearchDocument document) {
+        try {
+            writer.updateDocument(id, toDocument(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void delete(Term id) {
+        try {
+            writer.deleteDocuments(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void refresh() {
+        try {
+            // Block so a client searching right after its own write sees the change
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static long cents(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+    
+    private Document toDocument(SearchDocument source) {
+        Document document = new Document();
+        document.add(new StringField(ID, source.id().toString(), Field.Store.YES));
+        document.add(new LongPoint(USER_ID, source.userId()));
+        document.add(new LongPoint(CATEGORY_ID, source.categoryId()));
+        document.add(new StringField(TYPE, source.type().name(), Field.Store.NO));
+        document.add(new LongPoint(DATE, source.transactionDate().toEpochDay()));
+        document.add(new LongPoint(AMOUNT_CENTS, cents(source.baseAmount(), RoundingMode.HALF_UP)));
+        document.add(new TextField(DESCRIPTION, source.description(), Field.Store.NO));
+        return document;
+    }
+}
@@ -0,0 +1,116 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.TransactionFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * PostgreSQL description search backed by a pg_trgm GIN index on lower(description)
+ *
+ * The index serves both substring matches (LIKE) and fuzzy word matches (the word similarity
+ * operator), and the database keeps it current on every insert, update and delete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres")
+public class PostgresDescriptionSearchIndex implements DescriptionSearchIndex {
+    
+    private static final int MAX_QUERY_TERMS = 8;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Create the trigram index once the schema exists
+     * Requires permission to create the pg_trgm extension, or the extension to be installed already
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_transaction_description_trgm " +
+                "ON transactions USING gin (lower(description) gin_trgm_ops)");
+        } catch (DataAccessException e) {
+            log.warn("Could not create the trigram index, description search will scan: {}", e.getMessage());
+        }
+    }
+    
+    @Override
+    public List<Long> search(Long userId, String query, boolean fuzzy, TransactionFilter filter, int limit) {
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(term -> !term.isEmpty())
+            .limit(MAX_QUERY_TERMS)
+            .toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        
+        StringBuilder sql = new StringBuilder("SELECT id FROM transactions WHERE user_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        
+        StringJoiner rank = new StringJoiner(" + ");
+        List<Object> rankArgs = new ArrayList<>();
+        for (String term : terms) {
+            // Terms hold only letters and digits, so they never contain LIKE wildcards
+            sql.append(" AND (lower(description) LIKE ?");
+            args.add("%" + term + "%");
+            if (fuzzy) {
+                sql.append(" OR ? <% lower(description)");
+                args.add(term);
+            }
+            sql.append(")");
+            rank.add("word_similarity(?, lower(description))");
+            rankArgs.add(term);
+        }
+        
+        if (filter != null) {
+            if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+                StringJoiner placeholders = new StringJoiner(", ", " AND category_id IN (", ")");
+                for (Long categoryId : filter.getCategoryIds()) {
+                    placeholders.add("?");
+                    args.add(categoryId);
+                }
+                sql.append(placeholders);
+            }
+            if (filter.getType() != null) {
+                sql.append(" AND type = ?");
+                args.add(filter.getType().name());
+            }
+            if (filter.getStartDate() != null) {
+                sql.append(" AND transaction_date >= ?");
+                args.add(Date.valueOf(filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                sql.append(" AND transaction_date <= ?");
+                args.add(Date.valueOf(filter.getEndDate()));
+            }
+            if (filter.getMinAmount() != null) {
+                sql.append(" AND base_amount >= ?");
+                args.add(filter.getMinAmount());
+            }
+            if (filter.getMaxAmount() != null) {
+                sql.append(" AND base_amount <= ?");
+                args.add(filter.getMaxAmount());
+            }
+        }
+        
+        sql.append(" ORDER BY ").append(rank).append(" DESC, transaction_date DESC, id DESC LIMIT ?");
+        args.addAll(rankArgs);
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+}
@@ -0,0 +1,110 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.RecurringRuleDTO;
+import com.expensetracker.entity.RecurringRule;
+import com.expensetracker.repository.RecurringRuleRepository;
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service layer for recurring transaction rules
+ * Occurrences are materialized by the RecurringTransactionScheduler
+ */
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+@Transactional
+public class RecurringRuleService {
+    
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final ExchangeRates exchangeRates;
+    
+    /**
+     * Get all recurring rules of a user
+     */
+    @Transactional(readOnly = true)
+    public List<RecurringRule> getUserRules(Long userId) {
+        return recurringRuleRepository.findByUserIdOrderByIdAsc(userId);
+    }
+    
+    /**
+     * Get a recurring rule of a user
+     */
+    @Transactional(readOnly = true)
+    public RecurringRule getRule(Long userId, Long ruleId) {
+        return recurringRuleRepository.findByIdAndUserId(ruleId, userId)
+            .orElseThrow(() -> new IllegalArgumentException("Recurring rule not found with id: " + ruleId));
+    }
+    
+    /**
+     * Create a recurring rule, scheduled from its start date
+     * Past occurrences are materialized by the next scheduler run
+     */
+    public RecurringRule createRule(Long userId, RecurringRuleDTO dto) {
+        String baseCurrency = userRepository.findBaseCurrencyById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        
+        RecurringRule rule = new RecurringRule();
+        rule.setUserId(userId);
+        apply(rule, dto, baseCurrency);
+        rule.reschedule();
+        return recurringRuleRepository.save(rule);
+    }
+    
+    /**
+     * Update a recurring rule
+     * A schedule change restarts it from the start date without repeating materialized occurrences
+     */
+    public RecurringRule updateRule(Long userId, Long ruleId, RecurringRuleDTO dto) {
+        RecurringRule rule = getRule(userId, ruleId);
+        String baseCurrency = userRepository.findBaseCurrencyById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        
+        boolean scheduleChanged = rule.getFrequency() != dto.getFrequency()
+            || !rule.getInterval().equals(dto.getInterval())
+            || !rule.getStartDate().equals(dto.getStartDate())
+            || !Objects.equals(rule.getEndDate(), dto.getEndDate());
+        if (dto.getCurrency() == null) {
+            dto.setCurrency(rule.getCurrency());
+        }
+        apply(rule, dto, baseCurrency);
+        if (scheduleChanged) {
+            rule.reschedule();
+        }
+        return recurringRuleRepository.save(rule);
+    }
+    
+    /**
+     * Delete a recurring rule, keeping the transactions it already created
+     */
+    public void deleteRule(Long userId, Long ruleId) {
+        recurringRuleRepository.delete(getRule(userId, ruleId));
+    }
+    
+    private void apply(RecurringRule rule, RecurringRuleDTO dto, String baseCurrency) {
+        if (dto.getEndDate() != null && dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before the start date");
+        }
+        categoryService.getCategoryById(dto.getCategoryId())
+            .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + dto.getCategoryId()));
+        
+        rule.setCategoryId(dto.getCategoryId());
+        rule.setAmount(dto.getAmount());
+        rule.setCurrency(exchangeRates.normalize(dto.getCurrency() != null ? dto.getCurrency() : baseCurrency));
+        rule.setDescription(dto.getDescription());
+        rule.setType(dto.getType());
+        rule.setFrequency(dto.getFrequency());
+        rule.setInterval(dto.getInterval() != null ? dto.getInterval() : 1);
+        rule.setStartDate(dto.getStartDate());
+        rule.setEndDate(dto.getEndDate());
+        rule.setActive(dto.getActive() == null || dto.getActive());
+    }
+}
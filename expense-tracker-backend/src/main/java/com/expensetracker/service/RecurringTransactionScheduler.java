@@ -0,0 +1,250 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.RecurringRule;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.RecurringRuleRepository;
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Materializes due occurrences of recurring rules as transactions for all users
+ *
+ * Each run claims batches of due rules with a conditional UPDATE that sets a lease token and
+ * expiry, so several instances can poll the same table without materializing a rule twice.
+ * A claimed batch is written in one database transaction: the occurrences are inserted in JDBC
+ * batches, rollup deltas are applied once per bucket, and each rule's next occurrence is advanced
+ * and its lease released. A unique key on (recurring_rule_id, transaction_date) backs this up.
+ * If the batch transaction fails, its rules are retried in one transaction each, so a bad rule
+ * only holds back itself. Rules that cannot be priced or fail on their own keep their lease and
+ * are retried once it expires.
+ */
+@Slf4j
+@Component
+public class RecurringTransactionScheduler {
+    
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final UserRepository userRepository;
+    private final RollupService rollupService;
+    private final ExchangeRates exchangeRates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final int maxOccurrencesPerRule;
+    private final Counter materializedCounter;
+    private final Counter failedCounter;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public RecurringTransactionScheduler(
+            RecurringRuleRepository recurringRuleRepository,
+            UserRepository userRepository,
+            RollupService rollupService,
+            ExchangeRates exchangeRates,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.recurring.batch-size:200}") int batchSize,
+            @Value("${app.recurring.lease-seconds:300}") long leaseSeconds,
+            @Value("${app.recurring.max-occurrences-per-rule:400}") int maxOccurrencesPerRule) {
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.exchangeRates = exchangeRates;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.maxOccurrencesPerRule = maxOccurrencesPerRule;
+        this.materializedCounter = Counter.builder("recurring.occurrences.materialized")
+            .description("Transactions created from recurring rules")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("recurring.rules.failed")
+            .description("Recurring rules left leased after a failed materialization")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Materialize every occurrence due up to today, one claimed batch at a time
+     */
+    @Scheduled(fixedDelayString = "${app.recurring.poll-interval-ms:60000}",
+               initialDelayString = "${app.recurring.poll-interval-ms:60000}")
+    public int materializeDue() {
+        LocalDate today = LocalDate.now();
+        int total = 0;
+        while (true) {
+            String token = UUID.randomUUID().toString();
+            Integer claimed = transactionTemplate.execute(status -> claim(today, token));
+            if (claimed == null || claimed == 0) {
+                break;
+            }
+            try {
+                total += transactionTemplate.execute(status ->
+                    materialize(recurringRuleRepository.findByLeaseOwner(token), today));
+            } catch (RuntimeException e) {
+                log.warn("Materializing {} recurring rules as one batch failed, retrying rule by rule", claimed, e);
+                total += materializeEach(token, today);
+            }
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Materialized {} recurring transactions", total);
+        }
+        return total;
+    }
+    
+    private int claim(LocalDate today, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = recurringRuleRepository.findDueIds(today, now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return recurringRuleRepository.claim(ids, token, now.plusSeconds(leaseSeconds), now);
+    }
+    
+    /**
+     * Materialize a failed batch's rules in one transaction each
+     */
+    private int materializeEach(String token, LocalDate today) {
+        List<Long> ids = transactionTemplate.execute(status ->
+            recurringRuleRepository.findByLeaseOwner(token).stream().map(RecurringRule::getId).toList());
+        int created = 0;
+        for (Long id : ids) {
+            try {
+                created += transactionTemplate.execute(status ->
+                    materialize(recurringRuleRepository.findByIdAndLeaseOwner(id, token), today));
+            } catch (RuntimeException e) {
+                // The lease stays in place, so the rule is retried once it expires
+                failedCounter.increment();
+                log.error("Materializing recurring rule {} failed, retrying after the lease expires", id, e);
+            }
+        }
+        return created;
+    }
+    
+    private int materialize(List<RecurringRule> rules, LocalDate today) {
+        Set<Long> userIds = new HashSet<>();
+        for (RecurringRule rule : rules) {
+            userIds.add(rule.getUserId());
+        }
+        Map<Long, String> baseCurrencies = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            baseCurrencies.put(user.getId(), user.getBaseCurrency());
+        }
+        
+        Map<String, RollupDelta> deltas = new HashMap<>();
+        Set<Long> changedUsers = new HashSet<>();
+        int created = 0;
+        for (RecurringRule rule : rules) {
+            List<Transaction> occurrences;
+            try {
+                occurrences = occurrences(rule, today, baseCurrencies.get(rule.getUserId()));
+            } catch (IllegalArgumentException e) {
+                failedCounter.increment();
+                log.warn("Recurring rule {} could not be priced, retrying after the lease expires: {}",
+                    rule.getId(), e.getMessage());
+                continue;
+            }
+            
+            for (Transaction transaction : occurrences) {
+                entityManager.persist(transaction);
+                YearMonth period = YearMonth.from(transaction.getTransactionDate());
+                deltas.computeIfAbsent(rule.getUserId() + ":" + rule.getCategoryId() + ":" + rule.getType() + ":" + period,
+                        key -> new RollupDelta(rule.getUserId(), rule.getCategoryId(), rule.getType(), period))
+                    .add(transaction.getBaseAmount());
+            }
+            if (!occurrences.isEmpty()) {
+                rule.advance(occurrences.size(), occurrences.get(occurrences.size() - 1).getTransactionDate());
+                changedUsers.add(rule.getUserId());
+                created += occurrences.size();
+            }
+            rule.setLeaseOwner(null);
+            rule.setLeaseUntil(null);
+        }
+        entityManager.flush();
+        
+        for (RollupDelta delta : deltas.values()) {
+            rollupService.applyDelta(delta.userId, delta.categoryId, delta.type, delta.period,
+                delta.amount, delta.count);
+        }
+        for (Long userId : changedUsers) {
+            eventPublisher.publishEvent(TransactionChangedEvent.bulk(userId));
+        }
+        materializedCounter.increment(created);
+        return created;
+    }
+    
+    /**
+     * Build and price a rule's due occurrences, failing before anything is written for the rule
+     */
+    private List<Transaction> occurrences(RecurringRule rule, LocalDate today, String baseCurrency) {
+        List<Transaction> occurrences = new ArrayList<>();
+        for (LocalDate date : rule.dueOccurrences(today, maxOccurrencesPerRule)) {
+            Transaction transaction = new Transaction();
+            transaction.setAmount(rule.getAmount());
+            transaction.setCurrency(rule.getCurrency());
+            transaction.setDescription(rule.getDescription());
+            transaction.setTransactionDate(date);
+            transaction.setType(rule.getType());
+            transaction.setRecurringRuleId(rule.getId());
+            transaction.setUser(entityManager.getReference(User.class, rule.getUserId()));
+            transaction.setCategory(entityManager.getReference(Category.class, rule.getCategoryId()));
+            exchangeRates.price(transaction, baseCurrency);
+            occurrences.add(transaction);
+        }
+        return occurrences;
+    }
+    
+    /**
+     * Accumulated rollup change for one user/category/type/month bucket within a batch
+     */
+    private static final class RollupDelta {
+        private final Long userId;
+        private final Long categoryId;
+        private final TransactionType type;
+        private final YearMonth period;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+        
+        private RollupDelta(Long userId, Long categoryId, TransactionType type, YearMonth period) {
+            this.userId = userId;
+            this.categoryId = categoryId;
+            this.type = type;
+            this.period = period;
+        }
+        
+        private void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+}
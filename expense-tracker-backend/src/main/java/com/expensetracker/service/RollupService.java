@@ -0,0 +1,229 @@
+package com.expensetracker.service;
+
+import com.expensetracker.config.ReplicaRoutingDataSource;
+import com.expensetracker.entity.MonthlyRollup;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.TransactionRepository.MonthlyTotal;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service layer for the monthly rollup table
+ * Applies transaction writes incrementally and rebuilds/verifies rollups from raw rows
+ */
+@Slf4j
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+@Transactional
+public class RollupService {
+    
+    private final MonthlyRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final DataVersionTracker dataVersionTracker;
+    
+    @Value("${app.rollup.repair-on-verify:true}")
+    private boolean repairOnVerify;
+    
+    /**
+     * Add a newly created transaction to its rollup row
+     */
+    public void recordCreated(TransactionSnapshot created) {
+        applyDelta(created.userId(), created.categoryId(), created.type(), created.yearMonth(),
+            created.baseAmount(), 1L);
+    }
+    
+    /**
+     * Move an updated transaction between rollup rows (or adjust its row in place)
+     */
+    public void recordUpdated(TransactionSnapshot before, TransactionSnapshot after) {
+        if (before.sameBucketAs(after)) {
+            BigDecimal difference = after.baseAmount().subtract(before.baseAmount());
+            if (difference.signum() != 0) {
+                applyDelta(after.userId(), after.categoryId(), after.type(), after.yearMonth(),
+                    difference, 0L);
+            }
+            return;
+        }
+        recordDeleted(before);
+        recordCreated(after);
+    }
+    
+    /**
+     * Remove a deleted transaction from its rollup row
+     */
+    public void recordDeleted(TransactionSnapshot deleted) {
+        applyDelta(deleted.userId(), deleted.categoryId(), deleted.type(), deleted.yearMonth(),
+            deleted.baseAmount().negate(), -1L);
+    }
+    
+    /**
+     * Apply an amount and count delta to a single rollup row, creating it if needed
+     * One upsert statement, so concurrent writers creating the same bucket do not fail on uk_rollup_key
+     */
+    public void applyDelta(Long userId, Long categoryId, TransactionType type, YearMonth period,
+                           BigDecimal amount, long count) {
+        rollupRepository.upsertDelta(userId, categoryId, type, period.getYear(), period.getMonthValue(),
+            amount, count);
+    }
+    
+    /**
+     * Rebuild rollups from raw transactions for one user, or for everyone when userId is null
+     */
+    public int rebuild(Long userId) {
+        List<MonthlyTotal> totals;
+        if (userId != null) {
+            rollupRepository.deleteByUserId(userId);
+            totals = transactionRepository.aggregateMonthlyTotalsByUserId(userId);
+        } else {
+            rollupRepository.deleteAllRows();
+            totals = transactionRepository.aggregateMonthlyTotals();
+        }
+        
+        List<MonthlyRollup> rollups = new ArrayList<>(totals.size());
+        for (MonthlyTotal total : totals) {
+            rollups.add(toRollup(total));
+        }
+        rollupRepository.saveAll(rollups);
+        dataVersionTracker.invalidateAll();
+        
+        log.info("Rebuilt {} monthly rollup rows{}", rollups.size(),
+            userId != null ? " for user " + userId : "");
+        return rollups.size();
+    }
+    
+    /**
+     * Recompute rollups from raw transactions and report rows that drifted
+     * When repair is true, drifted rows are corrected in place
+     */
+    public Map<String, Object> verify(Long userId, boolean repair) {
+        List<MonthlyTotal> totals = userId != null
+            ? transactionRepository.aggregateMonthlyTotalsByUserId(userId)
+            : transactionRepository.aggregateMonthlyTotals();
+        List<MonthlyRollup> rollups = userId != null
+            ? rollupRepository.findByUserId(userId)
+            : rollupRepository.findAll();
+        
+        Map<String, MonthlyTotal> expected = new HashMap<>();
+        for (MonthlyTotal total : totals) {
+            expected.put(key(total.getUserId(), total.getCategoryId(), total.getType(),
+                total.getYear(), total.getMonth()), total);
+        }
+        
+        List<Map<String, Object>> drift = new ArrayList<>();
+        for (MonthlyRollup rollup : rollups) {
+            MonthlyTotal total = expected.remove(key(rollup.getUserId(), rollup.getCategoryId(),
+                rollup.getType(), rollup.getYear(), rollup.getMonth()));
+            BigDecimal expectedTotal = total != null ? total.getTotal() : BigDecimal.ZERO;
+            long expectedCount = total != null ? total.getTransactionCount() : 0L;
+            
+            if (rollup.getTotal().compareTo(expectedTotal) != 0
+                    || !Objects.equals(rollup.getTransactionCount(), expectedCount)) {
+                drift.add(driftEntry(rollup.getUserId(), rollup.getCategoryId(), rollup.getType(),
+                    rollup.getYear(), rollup.getMonth(), rollup.getTotal(), expectedTotal,
+                    rollup.getTransactionCount(), expectedCount));
+                if (repair) {
+                    rollup.setTotal(expectedTotal);
+                    rollup.setTransactionCount(expectedCount);
+                    rollupRepository.save(rollup);
+                }
+            }
+        }
+        
+        // Whatever is left in the expected map has no rollup row at all
+        for (MonthlyTotal total : expected.values()) {
+            drift.add(driftEntry(total.getUserId(), total.getCategoryId(), total.getType(),
+                total.getYear(), total.getMonth(), BigDecimal.ZERO, total.getTotal(),
+                0L, total.getTransactionCount()));
+            if (repair) {
+                rollupRepository.save(toRollup(total));
+            }
+        }
+        
+        if (repair && !drift.isEmpty()) {
+            dataVersionTracker.invalidateAll();
+        }
+        
+        Map<String, Object> report = new HashMap<>();
+        report.put("userId", userId);
+        report.put("rowsChecked", rollups.size());
+        report.put("driftCount", drift.size());
+        report.put("repaired", repair && !drift.isEmpty());
+        report.put("drift", drift);
+        return report;
+    }
+    
+    /**
+     * Periodically verify all rollups against raw transactions
+     * Reads the primary, since a lagging replica would report (and repair) drift that is not there
+     */
+    @Scheduled(cron = "${app.rollup.verify-cron:0 30 3 * * *}")
+    public void scheduledVerify() {
+        Map<String, Object> report = ReplicaRoutingDataSource.onPrimary(() -> verify(null, repairOnVerify));
+        int driftCount = (int) report.get("driftCount");
+        if (driftCount > 0) {
+            log.warn("Monthly rollup verification found {} drifted rows (repaired: {})",
+                driftCount, report.get("repaired"));
+        }
+    }
+    
+    /**
+     * Backfill rollups on startup for databases created before the rollup table existed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeRollups() {
+        if (rollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            rebuild(null);
+        }
+    }
+    
+    private MonthlyRollup toRollup(MonthlyTotal total) {
+        MonthlyRollup rollup = new MonthlyRollup();
+        rollup.setUserId(total.getUserId());
+        rollup.setCategoryId(total.getCategoryId());
+        rollup.setType(total.getType());
+        rollup.setYear(total.getYear());
+        rollup.setMonth(total.getMonth());
+        rollup.setTotal(total.getTotal());
+        rollup.setTransactionCount(total.getTransactionCount());
+        return rollup;
+    }
+    
+    private String key(Long userId, Long categoryId, TransactionType type, Integer year, Integer month) {
+        return userId + ":" + categoryId + ":" + type + ":" + year + ":" + month;
+    }
+    
+    private Map<String, Object> driftEntry(Long userId, Long categoryId, TransactionType type,
+                                           Integer year, Integer month,
+                                           BigDecimal rollupTotal, BigDecimal transactionTotal,
+                                           long rollupCount, long transactionCount) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("userId", userId);
+        entry.put("categoryId", categoryId);
+        entry.put("type", type);
+        entry.put("year", year);
+        entry.put("month", month);
+        entry.put("rollupTotal", rollupTotal);
+        entry.put("transactionTotal", transactionTotal);
+        entry.put("rollupCount", rollupCount);
+        entry.put("transactionCount", transactionCount);
+        return entry;
+    }
+}
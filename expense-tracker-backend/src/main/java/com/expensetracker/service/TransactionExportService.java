@@ -0,0 +1,155 @@
+package com.expensetracker.service;
+
+import com.expensetracker.config.LongRunningQuery;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.TransactionRepository.TransactionExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for transaction export
+ * Streams a user's history from a database cursor straight to the response with constant memory
+ */
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+public class TransactionExportService {
+    
+    private static final String CSV_HEADER = "id,transactionDate,type,amount,currency,description,categoryId,categoryName";
+    
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Supported export formats
+     */
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+        
+        private final String contentType;
+        private final String extension;
+        
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        /**
+         * Parse a format name case-insensitively
+         */
+        public static ExportFormat parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+    
+    /**
+     * Write every transaction of a user to the output stream in the requested format
+     */
+    @LongRunningQuery
+    @Transactional(readOnly = true)
+    public void export(Long userId, ExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRows(userId)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        writer.flush();
+    }
+    
+    private void writeCsv(Iterator<TransactionExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getTransactionDate().toString());
+            writer.write(',');
+            writer.write(row.getType().name());
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writeCsvField(writer, row.getCurrency());
+            writer.write(',');
+            writeCsvField(writer, row.getDescription());
+            writer.write(',');
+            writer.write(String.valueOf(row.getCategoryId()));
+            writer.write(',');
+            writeCsvField(writer, row.getCategoryName());
+            writer.write('\n');
+        }
+    }
+    
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    private void writeNdjson(Iterator<TransactionExportRow> rows, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null); // Records are newline-delimited instead
+        
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.getId());
+            generator.writeStringField("transactionDate", row.getTransactionDate().toString());
+            generator.writeStringField("type", row.getType().name());
+            generator.writeNumberField("amount", row.getAmount());
+            generator.writeStringField("currency", row.getCurrency());
+            generator.writeStringField("description", row.getDescription());
+            generator.writeNumberField("categoryId", row.getCategoryId());
+            generator.writeStringField("categoryName", row.getCategoryName());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        
+        generator.flush();
+    }
+}
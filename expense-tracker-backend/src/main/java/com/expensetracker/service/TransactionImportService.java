@@ -0,0 +1,392 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.TransactionDTO;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service layer for bulk transaction import
+ * Streams JSON arrays or CSV files, validates each row and inserts valid rows in JDBC batches
+ */
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+public class TransactionImportService {
+    
+    private static final List<String> CSV_COLUMNS =
+        List.of("amount", "currency", "description", "transactiondate", "categoryid", "type");
+    
+    private static final Set<String> OPTIONAL_CSV_COLUMNS = Set.of("currency", "description");
+    
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    private final RollupService rollupService;
+    private final ExchangeRates exchangeRates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+    
+    /**
+     * Import transactions from a JSON array of TransactionDTO objects
+     */
+    public Map<String, Object> importJson(Long userId, InputStream input) throws IOException {
+        ImportRun run = startRun(userId);
+        
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of transactions");
+            }
+            
+            int row = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row++;
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    run.accept(row, objectMapper.treeToValue(node, TransactionDTO.class));
+                } catch (IOException | IllegalArgumentException e) {
+                    run.reject(row, null, "Unreadable row: " + e.getMessage());
+                }
+            }
+            return run.finish();
+        } finally {
+            run.announce();
+        }
+    }
+    
+    /**
+     * Import transactions from CSV with a header row
+     * Expected columns: amount, description, transactionDate, categoryId, type and optionally currency
+     */
+    public Map<String, Object> importCsv(Long userId, InputStream input) throws IOException {
+        ImportRun run = startRun(userId);
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            Map<String, Integer> columns = csvColumns(parseCsvLine(header));
+            
+            int row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                try {
+                    run.accept(row, toDto(parseCsvLine(line), columns));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    run.reject(row, null, "Unreadable row: " + e.getMessage());
+                }
+            }
+            return run.finish();
+        } finally {
+            run.announce();
+        }
+    }
+    
+    private ImportRun startRun(Long userId) {
+        String baseCurrency = userRepository.findBaseCurrencyById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        
+        // Resolve valid category ids once for the whole file (served from the category cache)
+        Set<Long> categoryIds = new HashSet<>();
+        for (Category category : categoryService.getAllCategories()) {
+            categoryIds.add(category.getId());
+        }
+        return new ImportRun(userId, baseCurrency, categoryIds);
+    }
+    
+    /**
+     * Persist one batch of validated rows in its own database transaction
+     * Rollup deltas are aggregated per bucket so each bucket is touched once per batch.
+     * No change event is published here: listeners recompute the whole user on a bulk event,
+     * so the run announces its batches once when it ends (see ImportRun.announce)
+     */
+    private void persistBatch(Long userId, List<TransactionDTO> rows, List<BigDecimal> baseAmounts) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = entityManager.getReference(User.class, userId);
+            Map<String, RollupDelta> deltas = new HashMap<>();
+            
+            for (int i = 0; i < rows.size(); i++) {
+                TransactionDTO dto = rows.get(i);
+                BigDecimal baseAmount = baseAmounts.get(i);
+                Transaction transaction = new Transaction();
+                transaction.setAmount(dto.getAmount());
+                transaction.setCurrency(dto.getCurrency());
+                transaction.setBaseAmount(baseAmount);
+                transaction.setDescription(dto.getDescription());
+                transaction.setTransactionDate(dto.getTransactionDate());
+                transaction.setType(dto.getType());
+                transaction.setUser(user);
+                transaction.setCategory(entityManager.getReference(Category.class, dto.getCategoryId()));
+                entityManager.persist(transaction);
+                
+                YearMonth period = YearMonth.from(dto.getTransactionDate());
+                deltas.computeIfAbsent(dto.getCategoryId() + ":" + dto.getType() + ":" + period,
+                        key -> new RollupDelta(dto.getCategoryId(), dto.getType(), period))
+                    .add(baseAmount);
+            }
+            
+            entityManager.flush();
+            entityManager.clear();
+            
+            for (RollupDelta delta : deltas.values()) {
+                rollupService.applyDelta(userId, delta.categoryId, delta.type, delta.period,
+                    delta.amount, delta.count);
+            }
+        });
+    }
+    
+    private Map<String, Integer> csvColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!OPTIONAL_CSV_COLUMNS.contains(column) && !columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + column);
+            }
+        }
+        return columns;
+    }
+    
+    private TransactionDTO toDto(List<String> fields, Map<String, Integer> columns) {
+        TransactionDTO dto = new TransactionDTO();
+        String amount = field(fields, columns, "amount");
+        String date = field(fields, columns, "transactiondate");
+        String categoryId = field(fields, columns, "categoryid");
+        String type = field(fields, columns, "type");
+        
+        dto.setAmount(amount != null ? new BigDecimal(amount) : null);
+        dto.setCurrency(field(fields, columns, "currency"));
+        dto.setDescription(field(fields, columns, "description"));
+        dto.setTransactionDate(date != null ? LocalDate.parse(date) : null);
+        dto.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+        dto.setType(type != null ? TransactionType.valueOf(type.toUpperCase(Locale.ROOT)) : null);
+        return dto;
+    }
+    
+    private String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    /**
+     * Split a single CSV record, honouring double-quoted fields and escaped quotes
+     */
+    private List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+    
+    /**
+     * Accumulated rollup change for one category/type/month bucket within a batch
+     */
+    private static final class RollupDelta {
+        private final Long categoryId;
+        private final TransactionType type;
+        private final YearMonth period;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+        
+        private RollupDelta(Long categoryId, TransactionType type, YearMonth period) {
+            this.categoryId = categoryId;
+            this.type = type;
+            this.period = period;
+        }
+        
+        private void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+    
+    /**
+     * State of a single import: pending batch, counters and per-row error report
+     */
+    private final class ImportRun {
+        private final Long userId;
+        private final String baseCurrency;
+        private final Set<Long> categoryIds;
+        private final List<TransactionDTO> batch = new ArrayList<>();
+        private final List<BigDecimal> batchBaseAmounts = new ArrayList<>();
+        private final List<Integer> batchRows = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private int totalRows;
+        private int imported;
+        private int failed;
+        
+        private ImportRun(Long userId, String baseCurrency, Set<Long> categoryIds) {
+            this.userId = userId;
+            this.baseCurrency = baseCurrency;
+            this.categoryIds = categoryIds;
+        }
+        
+        private void accept(int row, TransactionDTO dto) {
+            Set<ConstraintViolation<TransactionDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                for (ConstraintViolation<TransactionDTO> violation : violations) {
+                    addError(row, violation.getPropertyPath().toString(), violation.getMessage());
+                }
+                totalRows++;
+                failed++;
+                return;
+            }
+            if (!categoryIds.contains(dto.getCategoryId())) {
+                reject(row, "categoryId", "Category not found with id: " + dto.getCategoryId());
+                return;
+            }
+            
+            // Converted here so rows without a rate are reported individually
+            BigDecimal baseAmount;
+            try {
+                dto.setCurrency(exchangeRates.normalize(
+                    dto.getCurrency() != null ? dto.getCurrency() : baseCurrency));
+                baseAmount = exchangeRates.convert(dto.getAmount(), dto.getCurrency(), baseCurrency,
+                    dto.getTransactionDate());
+            } catch (IllegalArgumentException e) {
+                reject(row, "currency", e.getMessage());
+                return;
+            }
+            
+            totalRows++;
+            batch.add(dto);
+            batchBaseAmounts.add(baseAmount);
+            batchRows.add(row);
+            if (batch.size() >= batchSize) {
+                flushBatch();
+            }
+        }
+        
+        private void reject(int row, String field, String message) {
+            totalRows++;
+            failed++;
+            addError(row, field, message);
+        }
+        
+        private void flushBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                persistBatch(userId, batch, batchBaseAmounts);
+                imported += batch.size();
+            } catch (RuntimeException e) {
+                // A database failure rejects only this batch; earlier batches stay committed
+                failed += batch.size();
+                for (Integer row : batchRows) {
+                    addError(row, null, "Batch insert failed: " + e.getMessage());
+                }
+            }
+            batch.clear();
+            batchBaseAmounts.clear();
+            batchRows.clear();
+        }
+        
+        private void addError(int row, String field, String message) {
+            if (errors.size() >= maxReportedErrors) {
+                return;
+            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("row", row);
+            error.put("field", field);
+            error.put("message", message);
+            errors.add(error);
+        }
+        
+        /**
+         * Publish one bulk change for everything this run committed, also when it failed part way
+         */
+        private void announce() {
+            if (imported > 0) {
+                eventPublisher.publishEvent(TransactionChangedEvent.bulk(userId));
+            }
+        }
+        
+        private Map<String, Object> finish() {
+            flushBatch();
+            
+            Map<String, Object> report = new HashMap<>();
+            report.put("totalRows", totalRows);
+            report.put("imported", imported);
+            report.put("failed", failed);
+            report.put("errors", errors);
+            return report;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.dto.TransactionListItem;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.TransactionSpecifications;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for transaction description search
+ * Ranks and filters matches in the description index, then loads only the requested page
+ */
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TransactionSearchService {
+    
+    private static final int MAX_QUERY_LENGTH = 100;
+    
+    private final DescriptionSearchIndex searchIndex;
+    private final TransactionRepository transactionRepository;
+    
+    @Value("${app.search.max-results:1000}")
+    private int maxResults;
+    
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
+    
+    /**
+     * Search a user's transaction descriptions, best match first
+     * Only the top app.search.max-results matches are paged through
+     */
+    public Page<TransactionListItem> search(Long userId, String query, boolean fuzzy,
+                                            TransactionFilter filter, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)));
+        
+        List<Long> rankedIds = searchIndex.search(userId, query, fuzzy, filter, maxResults);
+        if (rankedIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        
+        // The index applied every filter, so only the requested page needs loading
+        List<Long> pageIds = slice(rankedIds, pageable);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, rankedIds.size());
+        }
+        
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < pageIds.size(); i++) {
+            rank.put(pageIds.get(i), i);
+        }
+        Specification<Transaction> matches = TransactionSpecifications.matching(userId, filter)
+            .and((root, criteriaQuery, cb) -> root.get("id").in(pageIds));
+        List<TransactionListItem> items = new ArrayList<>(
+            transactionRepository.findListItems(matches, Pageable.unpaged()).getContent());
+        items.sort(Comparator.comparing(item -> rank.get(item.id())));
+        return new PageImpl<>(items, pageable, rankedIds.size());
+    }
+    
+    private static <T> List<T> slice(List<T> items, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return items.subList(from, to);
+    }
+}
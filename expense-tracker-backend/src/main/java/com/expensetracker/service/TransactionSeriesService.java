@@ -0,0 +1,242 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.PeriodTotal;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service layer for time-series reporting
+ * Buckets income and expense totals by day, ISO week or month in one pass over grouped query results
+ * Totals are in the user's base currency
+ */
+@Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TransactionSeriesService {
+    
+    /**
+     * Upper bound on buckets per request, a little over ten years of days
+     */
+    private static final int MAX_POINTS = 4000;
+    
+    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+    
+    /**
+     * Supported bucket sizes
+     */
+    public enum SeriesInterval {
+        DAY,
+        WEEK,
+        MONTH;
+        
+        /**
+         * First day of the bucket containing a date (weeks start on Monday, as in ISO-8601)
+         */
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(DayOfWeek.MONDAY);
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+        
+        /**
+         * First day of the following bucket
+         */
+        public LocalDate next(LocalDate bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+        
+        /**
+         * Number of buckets touched by an inclusive date range
+         */
+        public long count(LocalDate startDate, LocalDate endDate) {
+            return switch (this) {
+                case DAY -> ChronoUnit.DAYS.between(startDate, endDate) + 1;
+                case WEEK -> ChronoUnit.WEEKS.between(bucketStart(startDate), bucketStart(endDate)) + 1;
+                case MONTH -> ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(endDate)) + 1;
+            };
+        }
+        
+        /**
+         * Parse an interval name case-insensitively
+         */
+        public static SeriesInterval parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported interval: " + value + " (expected day, week or month)");
+            }
+        }
+    }
+    
+    /**
+     * Get income and expense totals bucketed across a date range
+     * Every bucket in the range is present, with zero totals when it has no transactions.
+     * Month buckets read whole months from the rollup table and only scan transactions for partial edge months
+     */
+    public Map<String, Object> getSeries(Long userId, LocalDate startDate, LocalDate endDate,
+                                         SeriesInterval interval, boolean byCategory) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        if (interval.count(startDate, endDate) > MAX_POINTS) {
+            throw new IllegalArgumentException("Range spans more than " + MAX_POINTS + " " +
+                interval.name().toLowerCase(Locale.ROOT) + " buckets");
+        }
+        
+        Map<LocalDate, Bucket> buckets = new LinkedHashMap<>();
+        for (LocalDate start = interval.bucketStart(startDate); !start.isAfter(endDate); start = interval.next(start)) {
+            buckets.put(start, new Bucket());
+        }
+        
+        for (PeriodTotal row : loadTotals(userId, startDate, endDate, interval, byCategory)) {
+            buckets.get(interval.bucketStart(row.period())).add(row);
+        }
+        
+        Map<Long, String> categoryNames = byCategory ? categoryNames() : Map.of();
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        List<Map<String, Object>> points = new ArrayList<>(buckets.size());
+        for (Map.Entry<LocalDate, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            totalIncome = totalIncome.add(bucket.income);
+            totalExpenses = totalExpenses.add(bucket.expenses);
+            
+            Map<String, Object> point = new HashMap<>();
+            point.put("period", entry.getKey());
+            point.put("income", bucket.income);
+            point.put("expenses", bucket.expenses);
+            point.put("balance", bucket.income.subtract(bucket.expenses));
+            if (byCategory) {
+                point.put("categories", bucket.categoryView(categoryNames));
+            }
+            points.add(point);
+        }
+        
+        Map<String, Object> series = new HashMap<>();
+        series.put("interval", interval.name());
+        series.put("currency", userRepository.findBaseCurrencyById(userId).orElse(null));
+        series.put("startDate", startDate);
+        series.put("endDate", endDate);
+        series.put("totalIncome", totalIncome);
+        series.put("totalExpenses", totalExpenses);
+        series.put("points", points);
+        return series;
+    }
+    
+    private List<PeriodTotal> loadTotals(Long userId, LocalDate startDate, LocalDate endDate,
+                                         SeriesInterval interval, boolean byCategory) {
+        if (interval != SeriesInterval.MONTH) {
+            return dailyTotals(userId, startDate, endDate, byCategory);
+        }
+        
+        // Whole months inside the range come from rollups, partial edge months from raw transactions
+        YearMonth firstFull = startDate.getDayOfMonth() == 1
+            ? YearMonth.from(startDate) : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFull = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+            ? YearMonth.from(endDate) : YearMonth.from(endDate).minusMonths(1);
+        if (firstFull.isAfter(lastFull)) {
+            return dailyTotals(userId, startDate, endDate, byCategory);
+        }
+        
+        int fromPeriod = firstFull.getYear() * 100 + firstFull.getMonthValue();
+        int toPeriod = lastFull.getYear() * 100 + lastFull.getMonthValue();
+        List<PeriodTotal> totals = new ArrayList<>(byCategory
+            ? rollupRepository.getMonthlyCategoryTotalsBetween(userId, fromPeriod, toPeriod)
+            : rollupRepository.getMonthlyTotals(userId, fromPeriod, toPeriod));
+        if (startDate.isBefore(firstFull.atDay(1))) {
+            totals.addAll(dailyTotals(userId, startDate, firstFull.atDay(1).minusDays(1), byCategory));
+        }
+        if (endDate.isAfter(lastFull.atEndOfMonth())) {
+            totals.addAll(dailyTotals(userId, lastFull.atEndOfMonth().plusDays(1), endDate, byCategory));
+        }
+        return totals;
+    }
+    
+    private List<PeriodTotal> dailyTotals(Long userId, LocalDate startDate, LocalDate endDate, boolean byCategory) {
+        return byCategory
+            ? transactionRepository.getDailyCategoryTotals(userId, startDate, endDate)
+            : transactionRepository.getDailyTotals(userId, startDate, endDate);
+    }
+    
+    private Map<Long, String> categoryNames() {
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryService.getAllCategories()) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+    
+    /**
+     * Running totals of one bucket
+     */
+    private static final class Bucket {
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expenses = BigDecimal.ZERO;
+        private Map<Long, BigDecimal[]> categories;
+        
+        void add(PeriodTotal row) {
+            boolean isIncome = row.type() == TransactionType.INCOME;
+            if (isIncome) {
+                income = income.add(row.total());
+            } else {
+                expenses = expenses.add(row.total());
+            }
+            
+            if (row.categoryId() != null) {
+                if (categories == null) {
+                    categories = new TreeMap<>();
+                }
+                BigDecimal[] totals = categories.computeIfAbsent(row.categoryId(),
+                    id -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+                int index = isIncome ? 0 : 1;
+                totals[index] = totals[index].add(row.total());
+            }
+        }
+        
+        List<Map<String, Object>> categoryView(Map<Long, String> names) {
+            if (categories == null) {
+                return List.of();
+            }
+            List<Map<String, Object>> view = new ArrayList<>(categories.size());
+            for (Map.Entry<Long, BigDecimal[]> entry : categories.entrySet()) {
+                Map<String, Object> category = new HashMap<>();
+                category.put("categoryId", entry.getKey());
+                category.put("categoryName", names.get(entry.getKey()));
+                category.put("income", entry.getValue()[0]);
+                category.put("expenses", entry.getValue()[1]);
+                view.add(category);
+            }
+            return view;
+        }
+    }
+}
@@ -1,25 +1,38 @@
 package com.expensetracker.service;
 
+import com.expensetracker.dto.CategoryBreakdown;
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.dto.TransactionCursor;
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.dto.TransactionListItem;
+import com.expensetracker.dto.YearlySummary;
 import com.expensetracker.entity.Category;
 import com.expensetracker.entity.Transaction;
 import com.expensetracker.entity.Transaction.TransactionType;
 import com.expensetracker.entity.User;
-import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.MonthlyRollupRepository;
+import com.expensetracker.repository.MonthlyRollupRepository.CategoryTypeTotal;
+import com.expensetracker.repository.MonthlyRollupRepository.TypeTotal;
 import com.expensetracker.repository.TransactionRepository;
-import com.expensetracker.repository.TransactionRepository.CategorySpending;
+import com.expensetracker.repository.TransactionSpecifications;
 import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.YearMonth;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,13 +40,23 @@ import java.util.Optional;
  * Handles expense tracking, filtering, and reporting
  */
 @Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 @Transactional
 public class TransactionService {
     
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final MonthlyRollupRepository rollupRepository;
+    private final RollupService rollupService;
+    private final ExchangeRates exchangeRates;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private static final int RECENT_TRANSACTIONS_LIMIT = 10;
+    
+    @Value("${app.pagination.max-page-size:100}")
+    private int maxPageSize;
     
     /**
      * Create a new transaction
@@ -42,7 +65,7 @@ public class TransactionService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
         
-        Category category = categoryRepository.findById(categoryId)
+        Category category = categoryService.getCategoryById(categoryId)
             .orElseThrow(() -> new IllegalArgumentException("Category not found with id: " + categoryId));
         
         transaction.setUser(user);
@@ -52,13 +75,19 @@ public class TransactionService {
         if (transaction.getTransactionDate() == null) {
             transaction.setTransactionDate(LocalDate.now());
         }
+        exchangeRates.price(transaction, user.getBaseCurrency());
         
-        return transactionRepository.save(transaction);
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        TransactionSnapshot created = TransactionSnapshot.of(savedTransaction);
+        rollupService.recordCreated(created);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(savedTransaction.getId(), created));
+        return savedTransaction;
     }
     
     /**
      * Get transaction by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Transaction> getTransactionById(Long id) {
         return transactionRepository.findById(id);
     }
@@ -66,69 +95,63 @@ public class TransactionService {
     /**
      * Get all transactions for a user with pagination
      */
+    @Transactional(readOnly = true)
     public Page<Transaction> getUserTransactions(Long userId, Pageable pageable) {
         return transactionRepository.findByUserId(userId, pageable);
     }
     
     /**
-     * Get transactions with filters
+     * Get transactions matching any combination of filters
      */
-    public Page<Transaction> getFilteredTransactions(
-            Long userId, 
-            Long categoryId,
-            LocalDate startDate,
-            LocalDate endDate,
-            TransactionType type,
-            Pageable pageable) {
-        
-        // Apply different filters based on provided parameters
-        if (categoryId != null && startDate != null && endDate != null) {
-            return transactionRepository.findByUserIdAndCategoryIdAndTransactionDateBetween(
-                userId, categoryId, startDate, endDate, pageable);
-        } else if (categoryId != null) {
-            return transactionRepository.findByUserIdAndCategoryId(userId, categoryId, pageable);
-        } else if (startDate != null && endDate != null) {
-            return transactionRepository.findByUserIdAndTransactionDateBetween(
-                userId, startDate, endDate, pageable);
-        } else if (type != null) {
-            return transactionRepository.findByUserIdAndType(userId, type, pageable);
-        } else {
-            return transactionRepository.findByUserId(userId, pageable);
-        }
+    @Transactional(readOnly = true)
+    public Page<TransactionListItem> getFilteredTransactions(Long userId, TransactionFilter filter, Pageable pageable) {
+        return transactionRepository.findListItems(TransactionSpecifications.matching(userId, filter), pageable);
     }
     
     /**
-     * Get monthly summary for a user
+     * Get the next slice of transactions after a cursor using keyset pagination
+     * Ordered newest first by (transactionDate, id); no count query is issued
      */
-    public Map<String, Object> getMonthlySummary(Long userId, int month, int year) {
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-        
-        // Calculate totals
-        BigDecimal totalIncome = transactionRepository.calculateTotalByUserAndTypeAndDateRange(
-            userId, TransactionType.INCOME, startDate, endDate);
-        BigDecimal totalExpenses = transactionRepository.calculateTotalByUserAndTypeAndDateRange(
-            userId, TransactionType.EXPENSE, startDate, endDate);
+    @Transactional(readOnly = true)
+    public Slice<TransactionListItem> getTransactionsAfter(
+            Long userId,
+            TransactionFilter filter,
+            TransactionCursor cursor,
+            int size) {
         
-        // Get category breakdown
-        List<CategorySpending> categoryBreakdown = transactionRepository.getCategoryBreakdown(
-            userId, TransactionType.EXPENSE, startDate, endDate);
+        int sliceSize = Math.max(1, Math.min(size, maxPageSize));
+        return transactionRepository.findSliceAfter(
+            TransactionSpecifications.matching(userId, filter), cursor, sliceSize);
+    }
+    
+    /**
+     * Get monthly summary for a user, in the user's base currency
+     * Served from the monthly rollup table rather than scanning raw transactions
+     */
+    @Transactional(readOnly = true)
+    public MonthlySummary getMonthlySummary(Long userId, int month, int year) {
+        // Income, expenses and the category breakdown come from a single grouped query
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        List<CategoryBreakdown> categoryBreakdown = new ArrayList<>();
         
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("month", month);
-        summary.put("year", year);
-        summary.put("totalIncome", totalIncome);
-        summary.put("totalExpenses", totalExpenses);
-        summary.put("balance", totalIncome.subtract(totalExpenses));
-        summary.put("categoryBreakdown", categoryBreakdown);
+        for (CategoryTypeTotal row : rollupRepository.getMonthlyCategoryTotals(userId, year, month)) {
+            if (row.getType() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(row.getTotal());
+            } else {
+                totalExpenses = totalExpenses.add(row.getTotal());
+                categoryBreakdown.add(new CategoryBreakdown(row.getCategoryId(), row.getCategoryName(), row.getTotal()));
+            }
+        }
         
-        return summary;
+        return new MonthlySummary(month, year, userRepository.findBaseCurrencyById(userId).orElse(null),
+            totalIncome, totalExpenses, totalIncome.subtract(totalExpenses), categoryBreakdown);
     }
     
     /**
      * Get spending by category for a date range
      */
+    @Transactional(readOnly = true)
     public BigDecimal getCategorySpending(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
         return transactionRepository.calculateTotalByCategoryAndDateRange(
             userId, categoryId, TransactionType.EXPENSE, startDate, endDate);
@@ -137,8 +160,9 @@ public class TransactionService {
     /**
      * Get recent transactions for a user
      */
-    public List<Transaction> getRecentTransactions(Long userId) {
-        return transactionRepository.findTop10ByUserIdOrderByTransactionDateDescCreatedAtDesc(userId);
+    @Transactional(readOnly = true)
+    public List<TransactionListItem> getRecentTransactions(Long userId) {
+        return transactionRepository.findRecentListItems(userId, PageRequest.of(0, RECENT_TRANSACTIONS_LIMIT));
     }
     
     /**
@@ -147,51 +171,65 @@ public class TransactionService {
     public Transaction updateTransaction(Long id, Transaction transactionDetails) {
         Transaction transaction = transactionRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Transaction not found with id: " + id));
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
         
         transaction.setAmount(transactionDetails.getAmount());
         transaction.setDescription(transactionDetails.getDescription());
         transaction.setTransactionDate(transactionDetails.getTransactionDate());
         transaction.setType(transactionDetails.getType());
         
+        // Keep the stored currency unless a new one is given, then convert at the (possibly new) date
+        if (transactionDetails.getCurrency() != null) {
+            transaction.setCurrency(transactionDetails.getCurrency());
+        }
+        exchangeRates.price(transaction, transaction.getUser().getBaseCurrency());
+        
         // Update category if provided
         if (transactionDetails.getCategory() != null) {
-            Category category = categoryRepository.findById(transactionDetails.getCategory().getId())
+            Category category = categoryService.getCategoryById(transactionDetails.getCategory().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Category not found"));
             transaction.setCategory(category);
         }
         
-        return transactionRepository.save(transaction);
+        Transaction updatedTransaction = transactionRepository.save(transaction);
+        TransactionSnapshot after = TransactionSnapshot.of(updatedTransaction);
+        rollupService.recordUpdated(before, after);
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(id, before, after));
+        return updatedTransaction;
     }
     
     /**
      * Delete transaction
      */
     public void deleteTransaction(Long id) {
-        if (!transactionRepository.existsById(id)) {
-            throw new IllegalArgumentException("Transaction not found with id: " + id);
-        }
-        transactionRepository.deleteById(id);
+        Transaction transaction = transactionRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Transaction not found with id: " + id));
+        TransactionSnapshot deleted = TransactionSnapshot.of(transaction);
+        rollupService.recordDeleted(deleted);
+        transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(id, deleted));
     }
     
     /**
-     * Get yearly summary for a user
+     * Get yearly summary for a user, in the user's base currency
+     * Served from the monthly rollup table rather than scanning raw transactions
      */
-    public Map<String, Object> getYearlySummary(Long userId, int year) {
-        LocalDate startDate = LocalDate.of(year, 1, 1);
-        LocalDate endDate = LocalDate.of(year, 12, 31);
+    @Transactional(readOnly = true)
+    public YearlySummary getYearlySummary(Long userId, int year) {
+        // Income and expense totals come from a single query grouped by type
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
         
-        BigDecimal totalIncome = transactionRepository.calculateTotalByUserAndTypeAndDateRange(
-            userId, TransactionType.INCOME, startDate, endDate);
-        BigDecimal totalExpenses = transactionRepository.calculateTotalByUserAndTypeAndDateRange(
-            userId, TransactionType.EXPENSE, startDate, endDate);
-        
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("year", year);
-        summary.put("totalIncome", totalIncome);
-        summary.put("totalExpenses", totalExpenses);
-        summary.put("balance", totalIncome.subtract(totalExpenses));
-        summary.put("averageMonthlyExpense", totalExpenses.divide(BigDecimal.valueOf(12), BigDecimal.ROUND_HALF_UP));
+        for (TypeTotal row : rollupRepository.getYearlyTypeTotals(userId, year)) {
+            if (row.getType() == TransactionType.INCOME) {
+                totalIncome = row.getTotal();
+            } else {
+                totalExpenses = row.getTotal();
+            }
+        }
         
-        return summary;
+        return new YearlySummary(year, userRepository.findBaseCurrencyById(userId).orElse(null),
+            totalIncome, totalExpenses, totalIncome.subtract(totalExpenses),
+            totalExpenses.divide(BigDecimal.valueOf(12), RoundingMode.HALF_UP));
     }
 }
\ No newline at end of file
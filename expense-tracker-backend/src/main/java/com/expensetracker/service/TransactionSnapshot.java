@@ -0,0 +1,50 @@
+package com.expensetracker.service;
+
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Immutable copy of the aggregate-relevant fields of a transaction, with the amount in the owner's base currency
+ * Captured before a write so the previous state can be reversed out of derived data
+ */
+public record TransactionSnapshot(
+        Long userId,
+        Long categoryId,
+        TransactionType type,
+        LocalDate transactionDate,
+        BigDecimal baseAmount) {
+    
+    /**
+     * Capture the current state of a transaction
+     */
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+            transaction.getUser().getId(),
+            transaction.getCategory().getId(),
+            transaction.getType(),
+            transaction.getTransactionDate(),
+            transaction.getBaseAmount()
+        );
+    }
+    
+    /**
+     * Month the transaction falls into
+     */
+    public YearMonth yearMonth() {
+        return YearMonth.from(transactionDate);
+    }
+    
+    /**
+     * Check if both snapshots aggregate into the same user, category, type and month
+     */
+    public boolean sameBucketAs(TransactionSnapshot other) {
+        return userId.equals(other.userId)
+            && categoryId.equals(other.categoryId)
+            && type == other.type
+            && yearMonth().equals(other.yearMonth());
+    }
+}
@@ -0,0 +1,351 @@
+package com.expensetracker.service;
+
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.event.BudgetAlertRaisedEvent;
+import com.expensetracker.event.BudgetChangedEvent;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event streams of a user's live summary, budget status and alert updates
+ *
+ * Committed transaction and budget changes mark the affected months of the user as stale. A
+ * single refresh worker coalesces those marks, reads the monthly summary and budget statuses once
+ * per user and month, serializes them once and fans the JSON out to every open stream of that
+ * user. Nothing is computed for users without an open stream.
+ *
+ * Each stream sends from its own queue on a small sender pool, so a slow client never delays
+ * others. Queued events are keyed (summary and budgets per month, alert per budget and severity,
+ * heartbeat) and a newer event replaces a queued one with the same key. A client that still falls
+ * more than app.stream.max-pending-events behind is disconnected and can reconnect for fresh state.
+ */
+@Slf4j
+@Component
+public class UserEventStream {
+    
+    private final TransactionService transactionService;
+    private final BudgetService budgetService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int maxPendingEvents;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<YearMonth>> staleMonths = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolTaskExecutor refresher;
+    private final ThreadPoolTaskExecutor senders;
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+    
+    public UserEventStream(
+            TransactionService transactionService,
+            BudgetService budgetService,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.stream.max-pending-events:64}") int maxPendingEvents,
+            @Value("${app.stream.send-threads:4}") int sendThreads) {
+        this.transactionService = transactionService;
+        this.budgetService = budgetService;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxPendingEvents = maxPendingEvents;
+        
+        // One worker: refreshes for a user are never computed concurrently or out of order
+        this.refresher = pool("user-stream-refresh-", 1);
+        this.senders = pool("user-stream-send-", sendThreads);
+        Gauge.builder("sse.connections", connections, AtomicInteger::get)
+            .description("Open server-sent event streams")
+            .register(meterRegistry);
+        this.sentCounter = Counter.builder("sse.events.sent")
+            .description("Server-sent events written to clients")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("sse.clients.dropped")
+            .description("Streams closed because the client fell too far behind")
+            .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdown();
+        senders.shutdown();
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+    
+    /**
+     * Open a stream for a user, starting with the current month's summary and budget statuses
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        
+        Subscriber subscriber = new Subscriber(userId, newEmitter());
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+        connections.incrementAndGet();
+        
+        markStale(userId, Set.of(YearMonth.now()));
+        return subscriber.emitter;
+    }
+    
+    /**
+     * Emitter of a newly opened stream
+     */
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+    
+    /**
+     * Keep idle streams open through proxies and detect clients that went away
+     */
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-ms:15000}",
+               initialDelayString = "${app.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                subscriber.offer("heartbeat", SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!subscribers.containsKey(event.userId())) {
+            return;
+        }
+        Set<YearMonth> months = new HashSet<>();
+        if (event.isBulk()) {
+            // Bulk writes do not say which months changed; streams show the current month
+            months.add(YearMonth.now());
+        } else {
+            for (TransactionSnapshot snapshot : new TransactionSnapshot[] {event.before(), event.after()}) {
+                if (snapshot != null) {
+                    months.add(snapshot.yearMonth());
+                }
+            }
+        }
+        markStale(event.userId(), months);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        if (subscribers.containsKey(event.userId())) {
+            markStale(event.userId(), Set.of(YearMonth.of(event.year(), event.month())));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertRaised(BudgetAlertRaisedEvent event) {
+        Set<Subscriber> streams = subscribers.get(event.userId());
+        if (streams == null) {
+            return;
+        }
+        String key = "alert:" + event.budgetId() + ":" + event.alert().severity();
+        publish(streams, key, "alert", event.alert());
+    }
+    
+    /**
+     * Queue a refresh of the user's months unless one is already queued, which then covers them too
+     */
+    private void markStale(Long userId, Set<YearMonth> months) {
+        boolean[] queued = new boolean[1];
+        staleMonths.compute(userId, (id, pending) -> {
+            if (pending == null) {
+                pending = new HashSet<>();
+                queued[0] = true;
+            }
+            pending.addAll(months);
+            return pending;
+        });
+        if (queued[0]) {
+            refresher.execute(() -> refresh(userId));
+        }
+    }
+    
+    private void refresh(Long userId) {
+        Set<YearMonth> months = staleMonths.remove(userId);
+        Set<Subscriber> streams = subscribers.get(userId);
+        if (months == null || streams == null) {
+            return;
+        }
+        try {
+            // Read-write template so the reads go to the primary even with a read replica configured
+            transactionTemplate.executeWithoutResult(status -> {
+                for (YearMonth month : months) {
+                    MonthlySummary summary = transactionService.getMonthlySummary(
+                        userId, month.getMonthValue(), month.getYear());
+                    List<BudgetStatus> budgets = budgetService.getMonthlyBudgetsWithStatus(
+                        userId, month.getMonthValue(), month.getYear());
+                    publish(streams, "summary:" + month, "summary", summary);
+                    publish(streams, "budgets:" + month, "budgets",
+                        new BudgetStatusUpdate(month.getMonthValue(), month.getYear(), budgets));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Refreshing event streams of user {} failed", userId, e);
+        }
+    }
+    
+    /**
+     * Serialize once and queue the same JSON on every stream of the user
+     */
+    private void publish(Set<Subscriber> streams, String key, String name, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+        for (Subscriber subscriber : streams) {
+            subscriber.offer(key, SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON));
+        }
+    }
+    
+    private void remove(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+                streams.remove(subscriber);
+                return streams.isEmpty() ? null : streams;
+            });
+        }
+    }
+    
+    private static ThreadPoolTaskExecutor pool(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setThreadNamePrefix(threadNamePrefix);
+        // Queues hold at most one task per user or stream; tasks arriving during shutdown are dropped
+        pool.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        pool.initialize();
+        return pool;
+    }
+    
+    /**
+     * Budget statuses of one month as sent on the stream
+     */
+    public record BudgetStatusUpdate(int month, int year, List<BudgetStatus> budgets) {
+    }
+    
+    /**
+     * One open stream with its queue of unsent events, drained by at most one sender at a time
+     */
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Map<String, SseEventBuilder> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        private void offer(String key, SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            boolean overflow;
+            synchronized (pending) {
+                // Re-inserted at the end so replaced events keep the order of the latest change
+                pending.remove(key);
+                pending.put(key, event);
+                overflow = pending.size() > maxPendingEvents;
+            }
+            if (overflow) {
+                log.warn("Closing event stream of user {}, client is more than {} events behind",
+                    userId, maxPendingEvents);
+                droppedCounter.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+        
+        private void drain() {
+            while (true) {
+                SseEventBuilder next = poll();
+                if (next == null) {
+                    draining.set(false);
+                    // An event queued after the poll but before the flag was cleared is picked up here
+                    if (isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed.get()) {
+                    return;
+                }
+                try {
+                    emitter.send(next);
+                    sentCounter.increment();
+                } catch (IOException | IllegalStateException e) {
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+        
+        private SseEventBuilder poll() {
+            synchronized (pending) {
+                Iterator<SseEventBuilder> iterator = pending.values().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                SseEventBuilder next = iterator.next();
+                iterator.remove();
+                return next;
+            }
+        }
+        
+        private boolean isEmpty() {
+            synchronized (pending) {
+                return pending.isEmpty();
+            }
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.expensetracker.service;
 
 import com.expensetracker.entity.User;
+import com.expensetracker.event.UserChangedEvent;
 import com.expensetracker.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +19,15 @@ import java.util.Optional;
  * Handles user management operations
  */
 @Service
+@Timed(value = "app.service", percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 @Transactional
 public class UserService {
     
     private final UserRepository userRepository;
+    private final ExchangeRates exchangeRates;
+    private final CurrencyService currencyService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Initialize default demo user on startup
@@ -53,6 +60,8 @@ public class UserService {
         }
         
         user.setActive(true);
+        user.setBaseCurrency(exchangeRates.normalize(
+            user.getBaseCurrency() != null ? user.getBaseCurrency() : exchangeRates.referenceCurrency()));
         return userRepository.save(user);
     }
     
@@ -94,8 +103,13 @@ public class UserService {
         // Update only allowed fields
         user.setFullName(userDetails.getFullName());
         user.setEmail(userDetails.getEmail());
+        if (userDetails.getBaseCurrency() != null) {
+            currencyService.changeBaseCurrency(user, userDetails.getBaseCurrency());
+        }
         
-        return userRepository.save(user);
+        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return updatedUser;
     }
     
     /**
@@ -107,6 +121,7 @@ public class UserService {
         
         user.setActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
     
     /**
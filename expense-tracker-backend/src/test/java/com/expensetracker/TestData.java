@@ -0,0 +1,74 @@
+package com.expensetracker;
+
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.CategoryRepository;
+import com.expensetracker.service.BudgetService;
+import com.expensetracker.service.TransactionService;
+import com.expensetracker.service.UserService;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates users, budgets and transactions through the service layer for integration tests
+ * Every test works on its own fresh user, so tests sharing an application context stay independent
+ */
+@TestComponent
+public class TestData {
+    
+    private final UserService userService;
+    private final CategoryRepository categoryRepository;
+    private final BudgetService budgetService;
+    private final TransactionService transactionService;
+    
+    public TestData(UserService userService, CategoryRepository categoryRepository,
+                    BudgetService budgetService, TransactionService transactionService) {
+        this.userService = userService;
+        this.categoryRepository = categoryRepository;
+        this.budgetService = budgetService;
+        this.transactionService = transactionService;
+    }
+    
+    public User user() {
+        String name = "test-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setFullName("Test User");
+        return userService.createUser(user);
+    }
+    
+    public List<Category> categories() {
+        return categoryRepository.findAllByOrderByNameAsc();
+    }
+    
+    public Budget budget(User user, Category category, String amount, int threshold, int month, int year) {
+        Budget budget = new Budget();
+        budget.setAmount(new BigDecimal(amount));
+        budget.setAlertThreshold(threshold);
+        budget.setMonth(month);
+        budget.setYear(year);
+        return budgetService.createOrUpdateBudget(budget, user.getId(), category.getId());
+    }
+    
+    public Transaction transaction(User user, Category category, TransactionType type, String amount,
+                                   LocalDate date, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setType(type);
+        transaction.setTransactionDate(date);
+        transaction.setDescription(description);
+        return transactionService.createTransaction(transaction, user.getId(), category.getId());
+    }
+    
+    public Transaction expense(User user, Category category, String amount, LocalDate date) {
+        return transaction(user, category, TransactionType.EXPENSE, amount, date, null);
+    }
+}
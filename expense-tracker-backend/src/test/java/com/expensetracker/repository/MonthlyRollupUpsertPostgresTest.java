@@ -0,0 +1,24 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.TestData;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Runs the rollup upsert tests against PostgreSQL, where rollups use INSERT ... ON CONFLICT
+ * Only runs when TEST_POSTGRES_URL (plus TEST_POSTGRES_USERNAME and TEST_POSTGRES_PASSWORD) point
+ * at a scratch database, e.g. the one from docker-compose; the schema is created and dropped
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+@SpringBootTest(properties = {
+    "spring.datasource.url=${TEST_POSTGRES_URL}",
+    "spring.datasource.username=${TEST_POSTGRES_USERNAME:postgres}",
+    "spring.datasource.password=${TEST_POSTGRES_PASSWORD:}",
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.alerts.async=false"
+})
+@Import(TestData.class)
+class MonthlyRollupUpsertPostgresTest extends MonthlyRollupUpsertTest {
+}
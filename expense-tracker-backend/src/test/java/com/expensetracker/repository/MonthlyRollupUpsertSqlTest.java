@@ -0,0 +1,40 @@
+package com.expensetracker.repository;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.core.NativeQuery;
+import org.postgresql.core.Parser;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The rollup upserts as the PostgreSQL driver sends them
+ * pgjdbc rewrites JDBC placeholders to $n itself, so a statement it misreads fails on every write
+ * to a PostgreSQL database while still running on H2
+ */
+class MonthlyRollupUpsertSqlTest {
+    
+    @Test
+    void onConflictUpsertBindsSevenParametersOnPostgres() throws SQLException {
+        NativeQuery query = parse(MonthlyRollupRepositoryImpl.ON_CONFLICT_UPSERT);
+        
+        assertThat(query.bindPositions).hasSize(7);
+        assertThat(query.nativeSql).contains("VALUES ($1, $2, $3, $4, $5, $6, $7)");
+    }
+    
+    @Test
+    void mergeUpsertBindsSevenParameters() throws SQLException {
+        NativeQuery query = parse(MonthlyRollupRepositoryImpl.MERGE_UPSERT);
+        
+        assertThat(query.bindPositions).hasSize(7);
+        assertThat(query.nativeSql).contains("CAST($1 AS BIGINT)").contains("CAST($7 AS BIGINT)");
+    }
+    
+    private static NativeQuery parse(String sql) throws SQLException {
+        List<NativeQuery> queries = Parser.parseJdbcSql(sql, true, true, false, false, false);
+        assertThat(queries).hasSize(1);
+        return queries.get(0);
+    }
+}
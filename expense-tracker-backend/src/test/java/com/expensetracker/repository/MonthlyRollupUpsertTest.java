@@ -0,0 +1,66 @@
+package com.expensetracker.repository;
+
+import com.expensetracker.TestData;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.MonthlyRollup;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent rollup upserts on one bucket add up exactly, through whichever statement the
+ * configured database uses (MERGE on H2; see MonthlyRollupUpsertPostgresTest for ON CONFLICT)
+ */
+@SpringBootTest(properties = "app.alerts.async=false")
+@Import(TestData.class)
+class MonthlyRollupUpsertTest {
+    
+    private static final int WRITERS = 8;
+    private static final int DELTAS_PER_WRITER = 25;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+    
+    @Test
+    void concurrentDeltasOnOneBucketAddUp() throws Exception {
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < DELTAS_PER_WRITER; i++) {
+                        rollupRepository.upsertDelta(user.getId(), category.getId(), TransactionType.EXPENSE,
+                            2024, 6, new BigDecimal("1.25"), 1);
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            pool.shutdown();
+        }
+        
+        List<MonthlyRollup> rollups = rollupRepository.findByUserId(user.getId());
+        assertThat(rollups).hasSize(1);
+        assertThat(rollups.get(0).getTransactionCount()).isEqualTo((long) WRITERS * DELTAS_PER_WRITER);
+        assertThat(rollups.get(0).getTotal()).isEqualByComparingTo(
+            new BigDecimal("1.25").multiply(BigDecimal.valueOf(WRITERS * DELTAS_PER_WRITER)));
+    }
+}
@@ -0,0 +1,184 @@
+package com.expensetracker.repository;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.expensetracker.TestData;
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import com.expensetracker.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every combination of transaction filters is planned on the index built for it
+ * The SQL Hibernate generates for each combination is captured from the org.hibernate.SQL logger
+ * and run through H2's EXPLAIN, which names the index used. Other users' history is seeded and
+ * analyzed first, so the planner sees realistic selectivities rather than one user's rows.
+ */
+@SpringBootTest(properties = "app.alerts.async=false")
+@Import(TestData.class)
+class TransactionSpecificationsPlanTest {
+    
+    private static final int FILTERS = 5;
+    private static final int DESCRIPTION = 16;
+    private static final int OTHER_USERS = 20;
+    private static final int ROWS_PER_OTHER_USER = 500;
+    private static final long FIRST_SEEDED_ID = 2_000_000_000L;
+    
+    /**
+     * Index expected for each combination of the category (1), type (2), date (4) and amount (8)
+     * filters. A description substring is never sargable, so it does not change the index. With
+     * no other filter only user_id is constrained and its own index is the narrowest match.
+     * With category and date both set, the page query reads the date index (which also gives the
+     * sort order) and the count query the category index.
+     */
+    private static final String[] EXPECTED_INDEX = {
+        "IDX_USER_ID",
+        "IDX_TRANSACTION_USER_CATEGORY_TYPE_DATE",
+        "IDX_TRANSACTION_USER_TYPE_DATE",
+        "IDX_TRANSACTION_USER_CATEGORY_TYPE_DATE",
+        "IDX_TRANSACTION_USER_DATE_ID",
+        "IDX_TRANSACTION_USER_(DATE_ID|CATEGORY_TYPE_DATE)",
+        "IDX_TRANSACTION_USER_TYPE_DATE",
+        "IDX_TRANSACTION_USER_CATEGORY_TYPE_DATE",
+        "IDX_TRANSACTION_USER_AMOUNT",
+        "IDX_TRANSACTION_USER_AMOUNT",
+        "IDX_TRANSACTION_USER_AMOUNT",
+        "IDX_TRANSACTION_USER_AMOUNT",
+        "IDX_TRANSACTION_USER_AMOUNT",
+        "IDX_TRANSACTION_USER_AMOUNT",
+        "IDX_TRANSACTION_USER_TYPE_DATE",
+        "IDX_TRANSACTION_USER_CATEGORY_TYPE_DATE"
+    };
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+    private final ListAppender<ILoggingEvent> statements = new ListAppender<>();
+    private Level previousLevel;
+    
+    @BeforeEach
+    void captureSql() {
+        previousLevel = sqlLogger.getLevel();
+        sqlLogger.setLevel(Level.DEBUG);
+        statements.start();
+        sqlLogger.addAppender(statements);
+    }
+    
+    @AfterEach
+    void restoreLogger() {
+        sqlLogger.detachAppender(statements);
+        sqlLogger.setLevel(previousLevel);
+    }
+    
+    @Test
+    void everyFilterCombinationUsesItsIndex() {
+        User user = testData.user();
+        List<Category> categories = testData.categories();
+        seedOtherUsers(categories);
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        for (int day = 0; day < 20; day++) {
+            TransactionType type = day % 4 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            testData.transaction(user, categories.get(day % 3), type, (10 + day) + ".00",
+                start.plusDays(day), "coffee " + day);
+        }
+        
+        for (int combination = 0; combination < 1 << FILTERS; combination++) {
+            TransactionFilter filter = filter(combination, categories, start);
+            statements.list.clear();
+            transactionService.getFilteredTransactions(user.getId(), filter,
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "transactionDate", "id")));
+            
+            List<String> selects = transactionSelects();
+            assertThat(selects).as("statements for %s", filter).isNotEmpty();
+            for (String sql : selects) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                // H2 annotates the table with the index it reads, e.g. PUBLIC.IDX_USER_ID: USER_ID = ?1
+                assertThat(plan)
+                    .as("plan for %s", filter)
+                    .containsPattern("PUBLIC\\." + EXPECTED_INDEX[combination & ~DESCRIPTION] + ":");
+            }
+        }
+    }
+    
+    private TransactionFilter filter(int combination, List<Category> categories, LocalDate start) {
+        TransactionFilter filter = new TransactionFilter();
+        if ((combination & 1) != 0) {
+            filter.setCategoryIds(Set.of(categories.get(0).getId(), categories.get(1).getId()));
+        }
+        if ((combination & 2) != 0) {
+            filter.setType(TransactionType.EXPENSE);
+        }
+        if ((combination & 4) != 0) {
+            filter.setStartDate(start.plusDays(2));
+            filter.setEndDate(start.plusDays(15));
+        }
+        if ((combination & 8) != 0) {
+            filter.setMinAmount(new BigDecimal("12.00"));
+            filter.setMaxAmount(new BigDecimal("25.00"));
+        }
+        if ((combination & DESCRIPTION) != 0) {
+            filter.setDescription("coffee 1");
+        }
+        return filter;
+    }
+    
+    /**
+     * Insert other users' history with set-based statements and refresh the planner statistics
+     */
+    private void seedOtherUsers(List<Category> categories) {
+        for (int u = 0; u < OTHER_USERS; u++) {
+            User other = testData.user();
+            jdbcTemplate.update(
+                "INSERT INTO transactions (id, amount, currency, base_amount, description, transaction_date, " +
+                "type, created_at, user_id, category_id) " +
+                "SELECT ? + X, MOD(X, 500) + 1, 'USD', MOD(X, 500) + 1, CONCAT('Seeded ', X), " +
+                "DATEADD(DAY, -MOD(X * 7, 1095), CURRENT_DATE), " +
+                "CASE WHEN MOD(X, 5) = 0 THEN 'INCOME' ELSE 'EXPENSE' END, CURRENT_TIMESTAMP, ?, ? " +
+                "FROM SYSTEM_RANGE(1, ?)",
+                FIRST_SEEDED_ID + (long) u * ROWS_PER_OTHER_USER, other.getId(),
+                categories.get(u % categories.size()).getId(), ROWS_PER_OTHER_USER);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    private List<String> transactionSelects() {
+        List<String> selects = new ArrayList<>();
+        for (ILoggingEvent event : statements.list) {
+            String sql = event.getFormattedMessage().trim();
+            String lower = sql.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("select") && lower.contains("transactions")) {
+                selects.add(sql);
+            }
+        }
+        return selects;
+    }
+}
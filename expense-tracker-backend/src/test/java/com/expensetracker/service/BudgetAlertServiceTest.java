@@ -0,0 +1,85 @@
+package com.expensetracker.service;
+
+import com.expensetracker.TestData;
+import com.expensetracker.dto.BudgetAlertItem;
+import com.expensetracker.entity.BudgetAlert;
+import com.expensetracker.entity.BudgetAlert.AlertSeverity;
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.BudgetAlertRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the alert pipeline with its in-process broker in inline mode (app.alerts.async=false),
+ * so every committed write has been evaluated by the time the service call returns
+ */
+@SpringBootTest(properties = "app.alerts.async=false")
+@Import(TestData.class)
+class BudgetAlertServiceTest {
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+    
+    @Autowired
+    private BudgetAlertRepository alertRepository;
+    
+    @Test
+    void expenseCrossingThresholdPersistsAlert() {
+        LocalDate today = LocalDate.now();
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        Budget budget = testData.budget(user, category, "100.00", 80, today.getMonthValue(), today.getYear());
+        
+        testData.expense(user, category, "95.00", today);
+        
+        List<BudgetAlert> stored = alertRepository.findByBudgetId(budget.getId());
+        assertThat(stored).extracting(BudgetAlert::getSeverity).containsExactly(AlertSeverity.MEDIUM);
+        assertThat(stored.get(0).getSpent()).isEqualByComparingTo("95.00");
+        
+        List<BudgetAlertItem> alerts = budgetAlertService.getAlerts(
+            user.getId(), today.getMonthValue(), today.getYear());
+        assertThat(alerts).singleElement().satisfies(alert -> {
+            assertThat(alert.severity()).isEqualTo(AlertSeverity.MEDIUM);
+            assertThat(alert.category()).isEqualTo(category.getName());
+        });
+    }
+    
+    @Test
+    void overspendRaisesHighAndRefundClearsAlerts() {
+        LocalDate today = LocalDate.now();
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        Budget budget = testData.budget(user, category, "100.00", 80, today.getMonthValue(), today.getYear());
+        
+        Transaction expense = testData.expense(user, category, "120.00", today);
+        assertThat(alertRepository.findByBudgetId(budget.getId()))
+            .extracting(BudgetAlert::getSeverity)
+            .containsExactlyInAnyOrder(AlertSeverity.MEDIUM, AlertSeverity.HIGH);
+        
+        Transaction update = new Transaction();
+        update.setAmount(new BigDecimal("10.00"));
+        update.setType(expense.getType());
+        update.setTransactionDate(expense.getTransactionDate());
+        update.setCategory(category);
+        transactionService.updateTransaction(expense.getId(), update);
+        
+        assertThat(alertRepository.findByBudgetId(budget.getId())).isEmpty();
+    }
+}
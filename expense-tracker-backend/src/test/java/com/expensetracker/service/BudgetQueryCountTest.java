@@ -0,0 +1,84 @@
+package com.expensetracker.service;
+
+import com.expensetracker.TestData;
+import com.expensetracker.config.SqlStatementCounter;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budget status and alert reads issue a fixed number of SQL statements however many budgets a user has
+ * Statements are counted by the Hibernate statement inspector registered in MetricsConfig
+ */
+@SpringBootTest(properties = "app.alerts.async=false")
+@Import(TestData.class)
+class BudgetQueryCountTest {
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private BudgetService budgetService;
+    
+    @AfterEach
+    void clearCounter() {
+        SqlStatementCounter.clear();
+    }
+    
+    @Test
+    void budgetStatusesLoadInOneStatement() {
+        LocalDate today = LocalDate.now();
+        User few = userWithBudgets(2, today);
+        User many = userWithBudgets(10, today);
+        
+        int forFew = statements(() -> budgetService.getMonthlyBudgetsWithStatus(
+            few.getId(), today.getMonthValue(), today.getYear()));
+        int forMany = statements(() -> budgetService.getMonthlyBudgetsWithStatus(
+            many.getId(), today.getMonthValue(), today.getYear()));
+        
+        assertThat(forMany).isEqualTo(forFew).isEqualTo(1);
+    }
+    
+    @Test
+    void budgetAlertsReadInOneStatement() {
+        LocalDate today = LocalDate.now();
+        User few = userWithBudgets(2, today);
+        User many = userWithBudgets(10, today);
+        assertThat(budgetService.getBudgetAlerts(many.getId())).hasSize(10);
+        
+        int forFew = statements(() -> budgetService.getBudgetAlerts(few.getId()));
+        int forMany = statements(() -> budgetService.getBudgetAlerts(many.getId()));
+        
+        assertThat(forMany).isEqualTo(forFew).isEqualTo(1);
+    }
+    
+    /**
+     * Create a user with one budget per category, each overspent so it also carries alerts
+     */
+    private User userWithBudgets(int count, LocalDate month) {
+        User user = testData.user();
+        List<Category> categories = testData.categories();
+        assertThat(categories).hasSizeGreaterThanOrEqualTo(count);
+        for (Category category : categories.subList(0, count)) {
+            testData.budget(user, category, "100.00", 80, month.getMonthValue(), month.getYear());
+            testData.expense(user, category, "90.00", month);
+        }
+        return user;
+    }
+    
+    private int statements(Supplier<?> call) {
+        SqlStatementCounter.reset();
+        call.get();
+        return SqlStatementCounter.current();
+    }
+}
@@ -0,0 +1,190 @@
+package com.expensetracker.service;
+
+import com.expensetracker.TestData;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.RecurringRule;
+import com.expensetracker.entity.RecurringRule.Frequency;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.RecurringRuleRepository;
+import com.expensetracker.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the recurring scheduler against the database with its own poll pushed out of the way,
+ * so each test drives materializeDue() itself and checks the rows and leases it leaves behind
+ */
+@SpringBootTest(properties = {
+    "app.alerts.async=false",
+    "app.recurring.poll-interval-ms=3600000",
+    "app.recurring.max-occurrences-per-rule=5"
+})
+@Import(TestData.class)
+class RecurringTransactionSchedulerTest {
+    
+    private static final int MAX_OCCURRENCES_PER_RULE = 5;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private RecurringTransactionScheduler scheduler;
+    
+    @Autowired
+    private RecurringRuleRepository recurringRuleRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void secondClaimDoesNotTakeLeasedRules() {
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        LocalDate today = LocalDate.now();
+        List<Long> ids = List.of(
+            rule(user, category, "USD", today.minusDays(3), Frequency.DAILY).getId(),
+            rule(user, category, "USD", today.minusDays(1), Frequency.DAILY).getId());
+        LocalDateTime now = LocalDateTime.now();
+        
+        Integer first = transactionTemplate.execute(status ->
+            recurringRuleRepository.claim(ids, "run-a", now.plusMinutes(5), now));
+        Integer second = transactionTemplate.execute(status ->
+            recurringRuleRepository.claim(ids, "run-b", now.plusMinutes(5), now));
+        
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isZero();
+        assertThat(recurringRuleRepository.findByLeaseOwner("run-a")).extracting(RecurringRule::getId)
+            .containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(recurringRuleRepository.findByLeaseOwner("run-b")).isEmpty();
+        assertThat(recurringRuleRepository.findDueIds(today, now, PageRequest.of(0, 1000)))
+            .doesNotContainAnyElementsOf(ids);
+        
+        // A full run skips the held rules instead of materializing them a second time
+        scheduler.materializeDue();
+        assertThat(ids).allSatisfy(id -> assertThat(occurrences(id)).isZero());
+    }
+    
+    @Test
+    void ruleThatCannotBePricedKeepsItsLeaseWhileTheBatchCommits() {
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        LocalDate today = LocalDate.now();
+        RecurringRule priced = rule(user, category, "USD", today.minusDays(2), Frequency.DAILY);
+        // EUR rates start on 2020-01-01, so the first occurrence has no rate to price it with
+        RecurringRule unpriced = rule(user, category, "EUR", LocalDate.of(2019, 12, 1), Frequency.MONTHLY);
+        
+        scheduler.materializeDue();
+        
+        RecurringRule pricedAfter = reload(priced);
+        assertThat(occurrences(priced.getId())).isEqualTo(3);
+        assertThat(pricedAfter.getNextOccurrence()).isEqualTo(today.plusDays(1));
+        assertThat(pricedAfter.getLeaseOwner()).isNull();
+        assertThat(pricedAfter.getLeaseUntil()).isNull();
+        
+        RecurringRule unpricedAfter = reload(unpriced);
+        assertThat(occurrences(unpriced.getId())).isZero();
+        assertThat(unpricedAfter.getNextOccurrence()).isEqualTo(LocalDate.of(2019, 12, 1));
+        assertThat(unpricedAfter.getLeaseOwner()).isNotNull();
+        assertThat(unpricedAfter.getLeaseUntil()).isAfter(LocalDateTime.now());
+    }
+    
+    @Test
+    void catchUpIsCappedPerRuleAndRun() {
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        LocalDate today = LocalDate.now();
+        RecurringRule rule = rule(user, category, "USD", today.minusDays(12), Frequency.DAILY);
+        
+        scheduler.materializeDue();
+        
+        RecurringRule afterFirst = reload(rule);
+        assertThat(occurrences(rule.getId())).isEqualTo(MAX_OCCURRENCES_PER_RULE);
+        assertThat(afterFirst.getOccurrenceCount()).isEqualTo((long) MAX_OCCURRENCES_PER_RULE);
+        assertThat(afterFirst.getLastOccurrence()).isEqualTo(today.minusDays(8));
+        assertThat(afterFirst.getNextOccurrence()).isEqualTo(today.minusDays(7));
+        
+        scheduler.materializeDue();
+        assertThat(occurrences(rule.getId())).isEqualTo(2 * MAX_OCCURRENCES_PER_RULE);
+        
+        scheduler.materializeDue();
+        RecurringRule caughtUp = reload(rule);
+        assertThat(occurrences(rule.getId())).isEqualTo(13);
+        assertThat(caughtUp.getLastOccurrence()).isEqualTo(today);
+        assertThat(caughtUp.getNextOccurrence()).isEqualTo(today.plusDays(1));
+    }
+    
+    @Test
+    void uniqueOccurrenceKeyStopsASecondMaterializationAfterTheLeaseExpires() {
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        LocalDate today = LocalDate.now();
+        RecurringRule rule = rule(user, category, "USD", today, Frequency.DAILY);
+        
+        // Another run wrote today's occurrence but lost its lease before advancing the rule
+        Transaction written = new Transaction();
+        written.setAmount(rule.getAmount());
+        written.setCurrency("USD");
+        written.setBaseAmount(rule.getAmount());
+        written.setTransactionDate(today);
+        written.setType(TransactionType.EXPENSE);
+        written.setRecurringRuleId(rule.getId());
+        written.setUser(user);
+        written.setCategory(category);
+        transactionRepository.save(written);
+        rule.setLeaseOwner("expired-run");
+        rule.setLeaseUntil(LocalDateTime.now().minusMinutes(1));
+        recurringRuleRepository.save(rule);
+        
+        scheduler.materializeDue();
+        
+        RecurringRule after = reload(rule);
+        assertThat(occurrences(rule.getId())).isEqualTo(1);
+        assertThat(after.getOccurrenceCount()).isZero();
+        assertThat(after.getNextOccurrence()).isEqualTo(today);
+        assertThat(after.getLeaseOwner()).isNotNull().isNotEqualTo("expired-run");
+        assertThat(after.getLeaseUntil()).isAfter(LocalDateTime.now());
+    }
+    
+    private RecurringRule rule(User user, Category category, String currency, LocalDate start, Frequency frequency) {
+        RecurringRule rule = new RecurringRule();
+        rule.setUserId(user.getId());
+        rule.setCategoryId(category.getId());
+        rule.setAmount(new BigDecimal("12.50"));
+        rule.setCurrency(currency);
+        rule.setDescription("Recurring " + frequency);
+        rule.setType(TransactionType.EXPENSE);
+        rule.setFrequency(frequency);
+        rule.setStartDate(start);
+        rule.reschedule();
+        return recurringRuleRepository.save(rule);
+    }
+    
+    private RecurringRule reload(RecurringRule rule) {
+        return recurringRuleRepository.findById(rule.getId()).orElseThrow();
+    }
+    
+    private long occurrences(Long ruleId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE recurring_rule_id = ?", Long.class, ruleId);
+    }
+}
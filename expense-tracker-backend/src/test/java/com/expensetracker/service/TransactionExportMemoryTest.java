@@ -0,0 +1,97 @@
+package com.expensetracker.service;
+
+import com.expensetracker.TestData;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.service.TransactionExportService.ExportFormat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a million-row history from a JVM whose heap could not hold it
+ * Seeding and exporting a million rows takes minutes, so this only runs with -Pmemory-tests, in its
+ * own JVM with a small -Xmx. The database is file-backed so the seeded rows are not on the heap either.
+ */
+@Tag("memory")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:file:./target/export-memory-test;NON_KEYWORDS=MONTH,YEAR",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "app.alerts.async=false"
+})
+@Import(TestData.class)
+class TransactionExportMemoryTest {
+    
+    private static final int ROWS = 1_000_000;
+    private static final int ROWS_PER_INSERT = 100_000;
+    private static final long FIRST_ID = 1_000_000_000L;
+    private static final long MAX_HEAP = 256L * 1024 * 1024;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private TransactionExportService transactionExportService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void exportsMillionRowsWithinSmallHeap() throws IOException {
+        assertThat(Runtime.getRuntime().maxMemory()).as("test heap limit").isLessThanOrEqualTo(MAX_HEAP);
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        seed(user, category);
+        
+        for (ExportFormat format : ExportFormat.values()) {
+            LineCountingOutputStream output = new LineCountingOutputStream();
+            transactionExportService.export(user.getId(), format, output);
+            
+            int header = format == ExportFormat.CSV ? 1 : 0;
+            assertThat(output.lines).as("%s lines", format).isEqualTo(ROWS + header);
+        }
+    }
+    
+    /**
+     * Insert the history with set-based statements, bypassing the write path and its events
+     */
+    private void seed(User user, Category category) {
+        for (int from = 0; from < ROWS; from += ROWS_PER_INSERT) {
+            jdbcTemplate.update(
+                "INSERT INTO transactions (id, amount, currency, base_amount, description, transaction_date, " +
+                "type, created_at, user_id, category_id) " +
+                "SELECT ? + X, 12.34, 'USD', 12.34, CONCAT('Seeded, \"row\" ', X), " +
+                "DATEADD(DAY, -MOD(X, 3650), CURRENT_DATE), 'EXPENSE', CURRENT_TIMESTAMP, ?, ? " +
+                "FROM SYSTEM_RANGE(?, ?)",
+                FIRST_ID, user.getId(), category.getId(), from + 1, from + ROWS_PER_INSERT);
+        }
+    }
+    
+    private static final class LineCountingOutputStream extends OutputStream {
+        private long lines;
+        
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.expensetracker.service;
+
+import com.expensetracker.TestData;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.Transaction.TransactionType;
+import com.expensetracker.entity.User;
+import com.expensetracker.service.TransactionSeriesService.SeriesInterval;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks every bucket of a series against totals summed in the test from the raw transactions
+ * The range starts and ends mid-month and mid-week and crosses a year, so month buckets mix
+ * rollups with partial edge months and one week bucket spans December and January
+ */
+@SpringBootTest(properties = "app.alerts.async=false")
+@Import(TestData.class)
+class TransactionSeriesServiceTest {
+    
+    private static final LocalDate START = LocalDate.of(2024, 12, 18);
+    private static final LocalDate END = LocalDate.of(2025, 2, 12);
+    // No transactions in this ISO week, so its bucket must be zero-filled
+    private static final LocalDate EMPTY_WEEK = LocalDate.of(2025, 1, 13);
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private TransactionSeriesService seriesService;
+    
+    @Test
+    void bucketsMatchRawTransactionTotals() {
+        User user = testData.user();
+        List<Category> categories = testData.categories();
+        List<Transaction> transactions = new ArrayList<>();
+        int i = 0;
+        for (LocalDate date = START.minusDays(10); !date.isAfter(END.plusDays(10)); date = date.plusDays(2), i++) {
+            if (!date.isBefore(EMPTY_WEEK) && date.isBefore(EMPTY_WEEK.plusWeeks(1))) {
+                continue;
+            }
+            TransactionType type = i % 3 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            transactions.add(testData.transaction(user, categories.get(i % 2), type, (10 + i) + ".25", date, null));
+        }
+        
+        for (SeriesInterval interval : SeriesInterval.values()) {
+            for (boolean byCategory : new boolean[] {false, true}) {
+                Map<String, Object> series = seriesService.getSeries(user.getId(), START, END, interval, byCategory);
+                assertSeries(series, expectedBuckets(transactions, interval), interval, byCategory);
+            }
+        }
+        
+        Map<LocalDate, BigDecimal[]> weeks = expectedBuckets(transactions, SeriesInterval.WEEK);
+        assertThat(weeks.get(LocalDate.of(2024, 12, 30))[1]).isPositive();
+        assertThat(weeks.get(EMPTY_WEEK)[0]).isZero();
+        assertThat(weeks.get(EMPTY_WEEK)[1]).isZero();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void assertSeries(Map<String, Object> series, Map<LocalDate, BigDecimal[]> expected,
+                                     SeriesInterval interval, boolean byCategory) {
+        String label = interval + (byCategory ? " by category" : "");
+        List<Map<String, Object>> points = (List<Map<String, Object>>) series.get("points");
+        assertThat(points).as(label).extracting(point -> point.get("period"))
+            .containsExactlyElementsOf(expected.keySet());
+        
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
+        for (Map<String, Object> point : points) {
+            BigDecimal[] totals = expected.get((LocalDate) point.get("period"));
+            String bucket = label + " " + point.get("period");
+            assertThat((BigDecimal) point.get("income")).as(bucket).isEqualByComparingTo(totals[0]);
+            assertThat((BigDecimal) point.get("expenses")).as(bucket).isEqualByComparingTo(totals[1]);
+            if (byCategory) {
+                BigDecimal categoryIncome = BigDecimal.ZERO;
+                BigDecimal categoryExpenses = BigDecimal.ZERO;
+                for (Map<String, Object> category : (List<Map<String, Object>>) point.get("categories")) {
+                    categoryIncome = categoryIncome.add((BigDecimal) category.get("income"));
+                    categoryExpenses = categoryExpenses.add((BigDecimal) category.get("expenses"));
+                }
+                assertThat(categoryIncome).as(bucket).isEqualByComparingTo(totals[0]);
+                assertThat(categoryExpenses).as(bucket).isEqualByComparingTo(totals[1]);
+            }
+            totalIncome = totalIncome.add(totals[0]);
+            totalExpenses = totalExpenses.add(totals[1]);
+        }
+        assertThat((BigDecimal) series.get("totalIncome")).as(label).isEqualByComparingTo(totalIncome);
+        assertThat((BigDecimal) series.get("totalExpenses")).as(label).isEqualByComparingTo(totalExpenses);
+    }
+    
+    /**
+     * Income and expense per bucket of the range, zero for buckets without transactions
+     */
+    private static Map<LocalDate, BigDecimal[]> expectedBuckets(List<Transaction> transactions, SeriesInterval interval) {
+        Map<LocalDate, BigDecimal[]> buckets = new TreeMap<>();
+        for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+            buckets.putIfAbsent(bucket(date, interval), new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+        }
+        for (Transaction transaction : transactions) {
+            LocalDate date = transaction.getTransactionDate();
+            if (date.isBefore(START) || date.isAfter(END)) {
+                continue;
+            }
+            BigDecimal[] totals = buckets.get(bucket(date, interval));
+            int index = transaction.getType() == TransactionType.INCOME ? 0 : 1;
+            totals[index] = totals[index].add(transaction.getAmount());
+        }
+        return buckets;
+    }
+    
+    private static LocalDate bucket(LocalDate date, SeriesInterval interval) {
+        return switch (interval) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package com.expensetracker.service;
+
+import com.expensetracker.TestData;
+import com.expensetracker.dto.BudgetAlertItem;
+import com.expensetracker.entity.BudgetAlert.AlertSeverity;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.Transaction;
+import com.expensetracker.entity.User;
+import com.expensetracker.event.BudgetAlertRaisedEvent;
+import com.expensetracker.event.TransactionChangedEvent;
+import com.expensetracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a stream instance of its own whose emitter records what is sent and can hold the first
+ * send back like a client that stopped reading, with events delivered by calling the listeners
+ */
+@SpringBootTest(properties = "app.alerts.async=false")
+@Import(TestData.class)
+class UserEventStreamTest {
+    
+    private static final long WAIT_MS = 10_000;
+    
+    @Autowired
+    private TestData testData;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private BudgetService budgetService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private UserEventStream stream;
+    
+    @AfterEach
+    void close() {
+        emitter.release();
+        if (stream != null) {
+            stream.shutdown();
+        }
+    }
+    
+    @Test
+    void replacedEventsKeepTheOrderOfTheLatestChange() throws Exception {
+        User user = testData.user();
+        stream = stream(64);
+        stream.subscribe(user.getId());
+        emitter.awaitBlockedSend();
+        
+        stream.onAlertRaised(alert(user, 1L, "first"));
+        stream.onAlertRaised(alert(user, 2L, "second"));
+        stream.onAlertRaised(alert(user, 1L, "third"));
+        emitter.release();
+        
+        await(() -> emitter.sent("event:alert").size() == 2);
+        List<String> alerts = emitter.sent("event:alert");
+        assertThat(alerts.get(0)).contains("second");
+        assertThat(alerts.get(1)).contains("third");
+        assertThat(emitter.sent("first")).isEmpty();
+    }
+    
+    @Test
+    void clientTooFarBehindIsDisconnected() throws Exception {
+        User user = testData.user();
+        stream = stream(4);
+        stream.subscribe(user.getId());
+        emitter.awaitBlockedSend();
+        assertThat(meterRegistry.get("sse.connections").gauge().value()).isEqualTo(1.0);
+        
+        for (long budgetId = 1; budgetId <= 5; budgetId++) {
+            stream.onAlertRaised(alert(user, budgetId, "alert " + budgetId));
+        }
+        
+        assertThat(emitter.completed).isTrue();
+        assertThat(meterRegistry.get("sse.connections").gauge().value()).isZero();
+        assertThat(meterRegistry.get("sse.clients.dropped").counter().count()).isEqualTo(1.0);
+        emitter.release();
+        await(() -> !emitter.sent("event:summary").isEmpty());
+        assertThat(emitter.sent("event:alert")).isEmpty();
+    }
+    
+    @Test
+    void changeToAnEarlierMonthReachesTheStream() {
+        User user = testData.user();
+        Category category = testData.categories().get(0);
+        YearMonth earlier = YearMonth.now().minusMonths(3);
+        emitter.release();
+        stream = stream(64);
+        stream.subscribe(user.getId());
+        await(() -> emitter.sent("event:summary").size() == 1);
+        
+        Transaction expense = testData.expense(user, category, "42.50", earlier.atDay(10));
+        stream.onTransactionChanged(TransactionChangedEvent.created(expense.getId(), TransactionSnapshot.of(expense)));
+        
+        await(() -> emitter.sent("event:summary").size() == 2);
+        assertThat(emitter.sent("event:summary").get(1))
+            .contains("\"month\":" + earlier.getMonthValue())
+            .contains("\"year\":" + earlier.getYear())
+            .contains("\"totalExpenses\":42.50");
+    }
+    
+    private UserEventStream stream(int maxPendingEvents) {
+        return new UserEventStream(transactionService, budgetService, userRepository, transactionTemplate,
+                objectMapper, meterRegistry, 60_000, maxPendingEvents, 1) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitter;
+            }
+        };
+    }
+    
+    private static BudgetAlertRaisedEvent alert(User user, Long budgetId, String message) {
+        return new BudgetAlertRaisedEvent(user.getId(), budgetId, new BudgetAlertItem("Food",
+            new BigDecimal("100.00"), new BigDecimal("95.00"), new BigDecimal("95.00"), message, AlertSeverity.MEDIUM));
+    }
+    
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("waiting for the stream").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    
+    /**
+     * Emitter that records each sent event as text and holds sends back until released
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile boolean completed;
+        
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType part : builder.build()) {
+                text.append(part.getData());
+            }
+            events.add(text.toString());
+        }
+        
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+        
+        void awaitBlockedSend() throws InterruptedException {
+            assertThat(sending.await(WAIT_MS, TimeUnit.MILLISECONDS)).as("first send").isTrue();
+        }
+        
+        void release() {
+            released.countDown();
+        }
+        
+        List<String> sent(String fragment) {
+            return events.stream().filter(event -> event.contains(fragment)).toList();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.BudgetAlertItem;
+import com.expensetracker.service.BudgetStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget status and alert evaluation for the current month
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetBenchmark {
+
+    @Benchmark
+    public List<BudgetStatus> monthlyBudgetsWithStatus(SeededDatabase db) {
+        LocalDate now = LocalDate.now();
+        return db.budgetService.getMonthlyBudgetsWithStatus(db.randomUserId(), now.getMonthValue(), now.getYear());
+    }
+
+    @Benchmark
+    public List<BudgetAlertItem> budgetAlerts(SeededDatabase db) {
+        return db.budgetService.getBudgetAlerts(db.randomUserId());
+    }
+}
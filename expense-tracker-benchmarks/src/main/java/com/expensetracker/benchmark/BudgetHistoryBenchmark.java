@@ -0,0 +1,131 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.BudgetRepository.BudgetWithSpent;
+import com.expensetracker.service.BudgetService;
+import com.expensetracker.service.CategoryService;
+import com.expensetracker.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget spend query for one user as their history grows from 1k to 1M transactions
+ *
+ * Transactions are seeded at a constant 30 per day going back in time, so the current month
+ * always holds the same rows and only the depth of history changes. A flat score across
+ * historyTransactions shows the query reads the month through the index instead of the history.
+ * The repository is called directly, since the service answers from the budget status cache.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetHistoryBenchmark {
+
+    @Benchmark
+    public List<BudgetWithSpent> budgetsWithSpent(History history) {
+        return history.budgetRepository.findBudgetsWithSpent(history.userId, history.month, history.year);
+    }
+
+    @State(Scope.Benchmark)
+    public static class History {
+
+        private static final int TRANSACTIONS_PER_DAY = 30;
+        private static final int BUDGETS = 8;
+        private static final int ROWS_PER_BATCH = 10_000;
+        private static final long FIRST_ID = 1_000_000_000L;
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int historyTransactions;
+
+        BudgetRepository budgetRepository;
+        Long userId;
+        int month;
+        int year;
+
+        private ConfigurableApplicationContext context;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = SeededDatabase.startBackend();
+            budgetRepository = context.getBean(BudgetRepository.class);
+            LocalDate today = LocalDate.now();
+            month = today.getMonthValue();
+            year = today.getYear();
+
+            User user = new User();
+            user.setUsername("history-user");
+            user.setEmail("history-user@example.com");
+            user.setFullName("History User");
+            userId = context.getBean(UserService.class).createUser(user).getId();
+
+            List<Category> categories = context.getBean(CategoryService.class).getAllCategories();
+            BudgetService budgetService = context.getBean(BudgetService.class);
+            for (int b = 0; b < Math.min(BUDGETS, categories.size()); b++) {
+                Budget budget = new Budget();
+                budget.setAmount(new BigDecimal("500.00"));
+                budget.setMonth(month);
+                budget.setYear(year);
+                budget.setAlertThreshold(80);
+                budgetService.createOrUpdateBudget(budget, userId, categories.get(b).getId());
+            }
+            seed(context.getBean(JdbcTemplate.class), categories, today);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        /**
+         * Insert the history with JDBC batches, bypassing the write path and its events
+         */
+        private void seed(JdbcTemplate jdbcTemplate, List<Category> categories, LocalDate today) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            List<Object[]> batch = new ArrayList<>(ROWS_PER_BATCH);
+            for (int i = 0; i < historyTransactions; i++) {
+                BigDecimal amount = BigDecimal.valueOf(100 + i % 5_000, 2);
+                batch.add(new Object[] {
+                    FIRST_ID + i, amount, "USD", amount, "History " + i,
+                    Date.valueOf(today.minusDays(i / TRANSACTIONS_PER_DAY)),
+                    i % 10 == 0 ? "INCOME" : "EXPENSE", now, userId,
+                    categories.get(i % categories.size()).getId()
+                });
+                if (batch.size() == ROWS_PER_BATCH || i == historyTransactions - 1) {
+                    jdbcTemplate.batchUpdate(
+                        "INSERT INTO transactions (id, amount, currency, base_amount, description, " +
+                        "transaction_date, type, created_at, user_id, category_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.entity.Budget;
+import com.expensetracker.service.BudgetStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget percentage and threshold math, without any database access
+ * bigDecimalMap is the former per-budget BigDecimal arithmetic and HashMap response entry,
+ * longCents the shared BudgetStatus evaluator. Run with -prof gc to compare allocations per budget
+ * (gc.alloc.rate.norm divided by the 1024 budgets per invocation).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BudgetMathBenchmark {
+
+    private static final int BUDGETS = 1024;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Budget[] budgets = new Budget[BUDGETS];
+    private final BigDecimal[] spent = new BigDecimal[BUDGETS];
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42L);
+        for (int i = 0; i < BUDGETS; i++) {
+            budgets[i] = new Budget();
+            budgets[i].setBaseAmount(BigDecimal.valueOf(5_000 + random.nextInt(100_000), 2));
+            budgets[i].setAlertThreshold(50 + random.nextInt(51));
+            spent[i] = BigDecimal.valueOf(random.nextInt(150_000), 2);
+        }
+        for (int i = 0; i < BUDGETS; i++) {
+            Map<String, Object> expected = bigDecimalEntry(budgets[i], spent[i]);
+            BudgetStatus actual = BudgetStatus.of(budgets[i], spent[i]);
+            if (!expected.get("percentage").equals(actual.percentage())
+                    || !expected.get("remaining").equals(actual.remaining())
+                    || !expected.get("isNearLimit").equals(actual.nearLimit())
+                    || !expected.get("isOverBudget").equals(actual.overBudget())) {
+                throw new IllegalStateException("Long-cents status differs for budget " + i + ": "
+                    + expected + " vs " + actual);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BUDGETS)
+    public void bigDecimalMap(Blackhole blackhole) {
+        for (int i = 0; i < BUDGETS; i++) {
+            blackhole.consume(bigDecimalEntry(budgets[i], spent[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BUDGETS)
+    public void longCents(Blackhole blackhole) {
+        for (int i = 0; i < BUDGETS; i++) {
+            blackhole.consume(BudgetStatus.of(budgets[i], spent[i]));
+        }
+    }
+
+    private static Map<String, Object> bigDecimalEntry(Budget budget, BigDecimal spent) {
+        BigDecimal amount = budget.getBaseAmount();
+        BigDecimal percentage = amount.compareTo(BigDecimal.ZERO) <= 0 ? BigDecimal.ZERO
+            : spent.multiply(HUNDRED).divide(amount, 2, RoundingMode.HALF_UP);
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("budget", budget);
+        entry.put("spent", spent);
+        entry.put("remaining", amount.subtract(spent));
+        entry.put("percentage", percentage);
+        entry.put("isOverBudget", spent.compareTo(amount) > 0);
+        entry.put("isNearLimit", percentage.compareTo(BigDecimal.valueOf(budget.getAlertThreshold())) >= 0);
+        return entry;
+    }
+}
@@ -0,0 +1,90 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.YearlySummary;
+import com.expensetracker.repository.BudgetRepository;
+import com.expensetracker.repository.BudgetRepository.BudgetWithSpent;
+import com.expensetracker.repository.TransactionRepository;
+import com.expensetracker.repository.TransactionRepository.TransactionExportRow;
+import com.expensetracker.service.ExchangeRates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Aggregates over multi-currency data against the single-currency path
+ * Run with -p currencies=1,4: amounts are converted when written, so the aggregate benchmarks
+ * should not move between the two, while perRowConversion shows the cost of converting on read
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyBenchmark {
+
+    private TransactionRepository transactionRepository;
+    private BudgetRepository budgetRepository;
+    private ExchangeRates exchangeRates;
+    private TransactionTemplate transactionTemplate;
+    private LocalDate today;
+
+    @Setup
+    public void setUp(SeededDatabase db) {
+        transactionRepository = db.bean(TransactionRepository.class);
+        budgetRepository = db.bean(BudgetRepository.class);
+        exchangeRates = db.bean(ExchangeRates.class);
+        transactionTemplate = db.bean(TransactionTemplate.class);
+        today = LocalDate.now();
+    }
+
+    @Benchmark
+    public YearlySummary yearlySummary(SeededDatabase db) {
+        return db.transactionService.getYearlySummary(db.randomUserId(), today.getYear());
+    }
+
+    /**
+     * Budget spending summed from raw transactions, bypassing the status cache
+     */
+    @Benchmark
+    public List<BudgetWithSpent> budgetsWithSpent(SeededDatabase db) {
+        return budgetRepository.findBudgetsWithSpent(db.randomUserId(), today.getMonthValue(), today.getYear());
+    }
+
+    /**
+     * Baseline: total the user's history by reading every row and converting it in Java
+     */
+    @Benchmark
+    public BigDecimal perRowConversion(SeededDatabase db) {
+        Long userId = db.randomUserId();
+        return transactionTemplate.execute(status -> {
+            try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRows(userId)) {
+                return rows.map(row -> exchangeRates.convert(row.getAmount(), row.getCurrency(),
+                        exchangeRates.referenceCurrency(), row.getTransactionDate()))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            }
+        });
+    }
+
+    /**
+     * Per-write cost of pricing an amount from the in-memory rate snapshot
+     */
+    @Benchmark
+    public BigDecimal convertOnWrite() {
+        return exchangeRates.convert(BigDecimal.valueOf(12_345, 2), "EUR", "USD", today);
+    }
+}
@@ -0,0 +1,36 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.dto.YearlySummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly and yearly transaction summaries
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportingBenchmark {
+
+    @Benchmark
+    public MonthlySummary monthlySummary(SeededDatabase db) {
+        LocalDate now = LocalDate.now();
+        return db.transactionService.getMonthlySummary(db.randomUserId(), now.getMonthValue(), now.getYear());
+    }
+
+    @Benchmark
+    public YearlySummary yearlySummary(SeededDatabase db) {
+        return db.transactionService.getYearlySummary(db.randomUserId(), LocalDate.now().getYear());
+    }
+}
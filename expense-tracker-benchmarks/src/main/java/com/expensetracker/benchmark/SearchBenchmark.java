@@ -0,0 +1,57 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.dto.TransactionListItem;
+import com.expensetracker.service.TransactionSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description search over seeded histories (run with -p transactionsPerUser=50000 for large histories)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private TransactionSearchService searchService;
+    private TransactionFilter lastQuarter;
+
+    @Setup
+    public void setUp(SeededDatabase db) {
+        searchService = db.bean(TransactionSearchService.class);
+        lastQuarter = TransactionFilter.builder()
+            .startDate(LocalDate.now().minusDays(90))
+            .build();
+    }
+
+    @Benchmark
+    public Page<TransactionListItem> prefixSearch(SeededDatabase db) {
+        return searchService.search(db.randomUserId(), "coff", false, null, 0, 20);
+    }
+
+    @Benchmark
+    public Page<TransactionListItem> fuzzySearch(SeededDatabase db) {
+        return searchService.search(db.randomUserId(), "grocry markt", true, null, 0, 20);
+    }
+
+    @Benchmark
+    public Page<TransactionListItem> filteredSearch(SeededDatabase db) {
+        return searchService.search(db.randomUserId(), "pizza", true, lastQuarter, 0, 20);
+    }
+}
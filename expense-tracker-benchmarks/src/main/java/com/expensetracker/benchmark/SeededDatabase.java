@@ -0,0 +1,161 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.ExpenseTrackerApplication;
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.service.BudgetService;
+import com.expensetracker.service.CategoryService;
+import com.expensetracker.service.TransactionImportService;
+import com.expensetracker.service.TransactionService;
+import com.expensetracker.service.UserService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the backend without a web server against an embedded database
+ * and seeds it with a configurable volume of users, transactions and budgets
+ *
+ * The datasource defaults to in-memory H2 and can be pointed at Postgres with
+ * -Dbench.datasource.url, -Dbench.datasource.username and -Dbench.datasource.password
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    private static final long SEED = 42L;
+    private static final String[] MERCHANTS = {
+        "Grocery market", "Coffee shop", "Fuel station", "Pharmacy", "Online bookstore",
+        "Pizza delivery", "Hardware store", "Cinema tickets", "Train fare", "Electricity bill"
+    };
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY"};
+
+    @Param({"10"})
+    public int users;
+
+    @Param({"2000"})
+    public int transactionsPerUser;
+
+    @Param({"8"})
+    public int budgetsPerUser;
+
+    @Param({"365"})
+    public int historyDays;
+
+    /**
+     * Number of currencies transactions are spread over (1 = everything in the USD base currency)
+     */
+    @Param({"1"})
+    public int currencies;
+
+    public TransactionService transactionService;
+    public BudgetService budgetService;
+
+    private ConfigurableApplicationContext context;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = startBackend();
+        transactionService = context.getBean(TransactionService.class);
+        budgetService = context.getBean(BudgetService.class);
+        seed();
+    }
+
+    /**
+     * Boot the backend against the configured benchmark datasource, with an empty schema
+     */
+    static ConfigurableApplicationContext startBackend() {
+        return new SpringApplicationBuilder(ExpenseTrackerApplication.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run(
+                "--spring.datasource.url=" + System.getProperty("bench.datasource.url",
+                    "jdbc:h2:mem:benchmark;NON_KEYWORDS=MONTH,YEAR;DB_CLOSE_DELAY=-1"),
+                "--spring.datasource.username=" + System.getProperty("bench.datasource.username", "sa"),
+                "--spring.datasource.password=" + System.getProperty("bench.datasource.password", ""),
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.expensetracker=WARN"
+            );
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    /**
+     * Look up any backend bean, for benchmarks that go below the service layer
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Pick a seeded user for the next invocation
+     */
+    public Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private void seed() throws IOException {
+        UserService userService = context.getBean(UserService.class);
+        TransactionImportService importService = context.getBean(TransactionImportService.class);
+        List<Category> categories = context.getBean(CategoryService.class).getAllCategories();
+        Random random = new Random(SEED);
+        LocalDate today = LocalDate.now();
+
+        for (int u = 0; u < users; u++) {
+            User user = new User();
+            user.setUsername("bench-user-" + u);
+            user.setEmail("bench-user-" + u + "@example.com");
+            user.setFullName("Benchmark User " + u);
+            Long userId = userService.createUser(user).getId();
+            userIds.add(userId);
+
+            // Seed through the real import path so rollups are maintained exactly as in production
+            StringBuilder csv = new StringBuilder("amount,currency,description,transactionDate,categoryId,type\n");
+            for (int t = 0; t < transactionsPerUser; t++) {
+                Category category = categories.get(random.nextInt(categories.size()));
+                boolean income = random.nextInt(10) == 0;
+                csv.append(BigDecimal.valueOf(100 + random.nextInt(income ? 400_000 : 20_000), 2)).append(',')
+                    .append(CURRENCIES[t % Math.min(currencies, CURRENCIES.length)]).append(',')
+                    .append(income ? "Salary" : MERCHANTS[t % MERCHANTS.length]).append(' ').append(t).append(',')
+                    .append(today.minusDays(random.nextInt(historyDays))).append(',')
+                    .append(category.getId()).append(',')
+                    .append(income ? "INCOME" : "EXPENSE").append('\n');
+            }
+            importService.importCsv(userId, new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+            for (int b = 0; b < Math.min(budgetsPerUser, categories.size()); b++) {
+                Budget budget = new Budget();
+                budget.setAmount(BigDecimal.valueOf(5_000 + random.nextInt(100_000), 2));
+                budget.setMonth(today.getMonthValue());
+                budget.setYear(today.getYear());
+                budget.setAlertThreshold(80);
+                budgetService.createOrUpdateBudget(budget, userId, categories.get(b).getId());
+            }
+        }
+    }
+}
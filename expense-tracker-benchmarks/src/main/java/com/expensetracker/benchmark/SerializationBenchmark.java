@@ -0,0 +1,198 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.CategoryBreakdown;
+import com.expensetracker.dto.MonthlySummary;
+import com.expensetracker.dto.YearlySummary;
+import com.expensetracker.entity.Budget;
+import com.expensetracker.entity.Category;
+import com.expensetracker.entity.User;
+import com.expensetracker.service.BudgetStatus;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of summary and budget status responses, without any database access
+ * The *Map benchmarks write the former HashMap responses, the *Record benchmarks the typed records.
+ * Run with -prof gc to compare allocations per response; setup checks both produce the same JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"false", "true"})
+    public boolean blackbird;
+
+    @Param({"10"})
+    public int categories;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+    private ObjectMapper mapper;
+    private Map<String, Object> monthlyMap;
+    private MonthlySummary monthlyRecord;
+    private Map<String, Object> yearlyMap;
+    private YearlySummary yearlyRecord;
+    private List<Map<String, Object>> budgetMaps;
+    private List<BudgetStatus> budgetRecords;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonMapper.Builder builder = JsonMapper.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .addModule(new JavaTimeModule());
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        mapper = builder.build();
+
+        Random random = new Random(42L);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("user1");
+        user.setEmail("user1@example.com");
+        user.setFullName("User 1");
+        user.setBaseCurrency("USD");
+        user.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        List<CategoryBreakdown> breakdown = new ArrayList<>();
+        List<Map<String, Object>> breakdownMaps = new ArrayList<>();
+        budgetMaps = new ArrayList<>();
+        budgetRecords = new ArrayList<>();
+        BigDecimal expenses = BigDecimal.ZERO;
+        for (int i = 0; i < categories; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setName("Category " + (i + 1));
+            category.setDescription("Description of category " + (i + 1));
+            category.setColor("#FF6384");
+
+            BigDecimal total = BigDecimal.valueOf(random.nextInt(200_000), 2);
+            expenses = expenses.add(total);
+            breakdown.add(new CategoryBreakdown(category.getId(), category.getName(), total));
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("categoryId", category.getId());
+            entry.put("categoryName", category.getName());
+            entry.put("total", total);
+            breakdownMaps.add(entry);
+
+            Budget budget = new Budget();
+            budget.setId((long) i + 1);
+            budget.setUser(user);
+            budget.setCategory(category);
+            budget.setAmount(BigDecimal.valueOf(5_000 + random.nextInt(100_000), 2));
+            budget.setCurrency("USD");
+            budget.setBaseAmount(budget.getAmount());
+            budget.setMonth(10);
+            budget.setYear(2026);
+            budgetRecords.add(BudgetStatus.of(budget, total));
+            budgetMaps.add(statusMap(budget, total));
+        }
+        BigDecimal income = BigDecimal.valueOf(500_000, 2);
+
+        monthlyRecord = new MonthlySummary(10, 2026, "USD", income, expenses, income.subtract(expenses), breakdown);
+        monthlyMap = new HashMap<>();
+        monthlyMap.put("month", 10);
+        monthlyMap.put("year", 2026);
+        monthlyMap.put("currency", "USD");
+        monthlyMap.put("totalIncome", income);
+        monthlyMap.put("totalExpenses", expenses);
+        monthlyMap.put("balance", income.subtract(expenses));
+        monthlyMap.put("categoryBreakdown", breakdownMaps);
+
+        BigDecimal average = expenses.divide(BigDecimal.valueOf(12), RoundingMode.HALF_UP);
+        yearlyRecord = new YearlySummary(2026, "USD", income, expenses, income.subtract(expenses), average);
+        yearlyMap = new HashMap<>();
+        yearlyMap.put("year", 2026);
+        yearlyMap.put("currency", "USD");
+        yearlyMap.put("totalIncome", income);
+        yearlyMap.put("totalExpenses", expenses);
+        yearlyMap.put("balance", income.subtract(expenses));
+        yearlyMap.put("averageMonthlyExpense", average);
+
+        sameJson(monthlyMap, monthlyRecord);
+        sameJson(yearlyMap, yearlyRecord);
+        sameJson(budgetMaps, budgetRecords);
+    }
+
+    @Benchmark
+    public void monthlySummaryMap() throws IOException {
+        mapper.writeValue(out, monthlyMap);
+    }
+
+    @Benchmark
+    public void monthlySummaryRecord() throws IOException {
+        mapper.writeValue(out, monthlyRecord);
+    }
+
+    @Benchmark
+    public void yearlySummaryMap() throws IOException {
+        mapper.writeValue(out, yearlyMap);
+    }
+
+    @Benchmark
+    public void yearlySummaryRecord() throws IOException {
+        mapper.writeValue(out, yearlyRecord);
+    }
+
+    @Benchmark
+    public void budgetStatusMap() throws IOException {
+        mapper.writeValue(out, budgetMaps);
+    }
+
+    @Benchmark
+    public void budgetStatusRecord() throws IOException {
+        mapper.writeValue(out, budgetRecords);
+    }
+
+    /**
+     * Budget status entry as the budget endpoints built it before the typed record
+     */
+    private static Map<String, Object> statusMap(Budget budget, BigDecimal spent) {
+        BudgetStatus status = BudgetStatus.of(budget, spent);
+        Map<String, Object> view = new HashMap<>();
+        view.put("budget", budget);
+        view.put("spent", status.spent());
+        view.put("remaining", status.remaining());
+        view.put("percentage", status.percentage());
+        view.put("isOverBudget", status.overBudget());
+        view.put("isNearLimit", status.nearLimit());
+        view.put("severity", status.severity());
+        return view;
+    }
+
+    private void sameJson(Object map, Object record) throws IOException {
+        if (!mapper.readTree(mapper.writeValueAsString(map)).equals(mapper.readTree(mapper.writeValueAsString(record)))) {
+            throw new IllegalStateException("Record JSON differs from map JSON: "
+                + mapper.writeValueAsString(map) + " vs " + mapper.writeValueAsString(record));
+        }
+    }
+}
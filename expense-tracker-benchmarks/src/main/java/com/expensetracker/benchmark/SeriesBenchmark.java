@@ -0,0 +1,73 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.service.TransactionSeriesService;
+import com.expensetracker.service.TransactionSeriesService.SeriesInterval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Five-year spending series against the per-month summary calls they replace
+ * Run with -p historyDays=1826 to spread the seeded transactions over the whole range
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeriesBenchmark {
+
+    private static final int MONTHS = 60;
+
+    private TransactionSeriesService seriesService;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp(SeededDatabase db) {
+        seriesService = db.bean(TransactionSeriesService.class);
+        YearMonth current = YearMonth.now();
+        startDate = current.minusMonths(MONTHS - 1L).atDay(1);
+        endDate = current.atEndOfMonth();
+    }
+
+    @Benchmark
+    public Map<String, Object> dailySeries(SeededDatabase db) {
+        return seriesService.getSeries(db.randomUserId(), startDate, endDate, SeriesInterval.DAY, false);
+    }
+
+    @Benchmark
+    public Map<String, Object> dailySeriesByCategory(SeededDatabase db) {
+        return seriesService.getSeries(db.randomUserId(), startDate, endDate, SeriesInterval.DAY, true);
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlySeries(SeededDatabase db) {
+        return seriesService.getSeries(db.randomUserId(), startDate, endDate, SeriesInterval.MONTH, false);
+    }
+
+    /**
+     * Baseline: one monthly summary call per month, as the charts issued before the series endpoint
+     */
+    @Benchmark
+    public void monthlySummaryPerMonth(SeededDatabase db, Blackhole blackhole) {
+        Long userId = db.randomUserId();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            blackhole.consume(db.transactionService.getMonthlySummary(userId, month.getMonthValue(), month.getYear()));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.entity.Transaction.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly and yearly summary query latency: one round trip per aggregate (the previous
+ * implementation) against the collapsed grouped queries now used by MonthlyRollupRepository
+ *
+ * Both sides run as raw JPQL in a read-only transaction so only the query shape differs;
+ * ReportingBenchmark covers the full service path
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SummaryQueryBenchmark {
+
+    private static final String PERIOD_TOTAL =
+        "SELECT COALESCE(SUM(r.total), 0) FROM MonthlyRollup r " +
+        "WHERE r.userId = :userId AND r.type = :type AND r.year = :year";
+
+    private static final String CATEGORY_BREAKDOWN =
+        "SELECT r.categoryId, c.name, SUM(r.total) FROM MonthlyRollup r JOIN Category c ON c.id = r.categoryId " +
+        "WHERE r.userId = :userId AND r.type = :type AND r.year = :year AND r.month = :month " +
+        "AND r.transactionCount > 0 GROUP BY r.categoryId, c.name ORDER BY SUM(r.total) DESC";
+
+    private static final String MONTHLY_CATEGORY_TOTALS =
+        "SELECT r.categoryId, c.name, r.type, SUM(r.total) FROM MonthlyRollup r JOIN Category c ON c.id = r.categoryId " +
+        "WHERE r.userId = :userId AND r.year = :year AND r.month = :month " +
+        "AND r.transactionCount > 0 GROUP BY r.categoryId, c.name, r.type ORDER BY SUM(r.total) DESC";
+
+    private static final String YEARLY_TYPE_TOTALS =
+        "SELECT r.type, SUM(r.total) FROM MonthlyRollup r " +
+        "WHERE r.userId = :userId AND r.year = :year GROUP BY r.type";
+
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp(SeededDatabase db) {
+        entityManager = db.bean(EntityManager.class);
+        readOnly = new TransactionTemplate(db.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @Benchmark
+    public Object monthlySequential(SeededDatabase db) {
+        Long userId = db.randomUserId();
+        LocalDate now = LocalDate.now();
+        return readOnly.execute(status -> List.of(
+            periodTotal(userId, TransactionType.INCOME, now.getYear(), now.getMonthValue()),
+            periodTotal(userId, TransactionType.EXPENSE, now.getYear(), now.getMonthValue()),
+            entityManager.createQuery(CATEGORY_BREAKDOWN)
+                .setParameter("userId", userId)
+                .setParameter("type", TransactionType.EXPENSE)
+                .setParameter("year", now.getYear())
+                .setParameter("month", now.getMonthValue())
+                .getResultList()
+        ));
+    }
+
+    @Benchmark
+    public Object monthlyCollapsed(SeededDatabase db) {
+        Long userId = db.randomUserId();
+        LocalDate now = LocalDate.now();
+        return readOnly.execute(status -> entityManager.createQuery(MONTHLY_CATEGORY_TOTALS)
+            .setParameter("userId", userId)
+            .setParameter("year", now.getYear())
+            .setParameter("month", now.getMonthValue())
+            .getResultList());
+    }
+
+    @Benchmark
+    public Object yearlySequential(SeededDatabase db) {
+        Long userId = db.randomUserId();
+        int year = LocalDate.now().getYear();
+        return readOnly.execute(status -> List.of(
+            periodTotal(userId, TransactionType.INCOME, year, null),
+            periodTotal(userId, TransactionType.EXPENSE, year, null)
+        ));
+    }
+
+    @Benchmark
+    public Object yearlyCollapsed(SeededDatabase db) {
+        Long userId = db.randomUserId();
+        int year = LocalDate.now().getYear();
+        return readOnly.execute(status -> entityManager.createQuery(YEARLY_TYPE_TOTALS)
+            .setParameter("userId", userId)
+            .setParameter("year", year)
+            .getResultList());
+    }
+
+    private Object periodTotal(Long userId, TransactionType type, int year, Integer month) {
+        Query query = entityManager.createQuery(month == null ? PERIOD_TOTAL : PERIOD_TOTAL + " AND r.month = :month")
+            .setParameter("userId", userId)
+            .setParameter("type", type)
+            .setParameter("year", year);
+        if (month != null) {
+            query.setParameter("month", month);
+        }
+        return query.getSingleResult();
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.dto.TransactionFilter;
+import com.expensetracker.dto.TransactionListItem;
+import com.expensetracker.entity.Transaction.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered transaction listing, offset and keyset paginated
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionListingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, PAGE_SIZE, Sort.by("transactionDate").descending());
+
+    @Benchmark
+    public Page<TransactionListItem> filteredPage(SeededDatabase db) {
+        return db.transactionService.getFilteredTransactions(db.randomUserId(), lastQuarterExpenses(), FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Slice<TransactionListItem> filteredCursor(SeededDatabase db) {
+        return db.transactionService.getTransactionsAfter(db.randomUserId(), lastQuarterExpenses(), null, PAGE_SIZE);
+    }
+
+    private static TransactionFilter lastQuarterExpenses() {
+        LocalDate today = LocalDate.now();
+        return TransactionFilter.builder()
+            .type(TransactionType.EXPENSE)
+            .startDate(today.minusMonths(3))
+            .endDate(today)
+            .minAmount(BigDecimal.TEN)
+            .build();
+    }
+}